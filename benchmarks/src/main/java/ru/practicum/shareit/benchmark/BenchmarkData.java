@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+@RequiredArgsConstructor
+public class BenchmarkData {
+
+    public static final int USERS = Integer.getInteger("shareit.benchmark.users", 1_000);
+    public static final int REQUESTS = USERS * 2;
+    public static final int ITEMS = USERS * 20;
+    public static final int BOOKINGS = ITEMS * 5;
+    public static final int COMMENTS = ITEMS;
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] WORDS = {"дрель", "отвертка", "пила", "молоток", "лестница", "палатка", "велосипед",
+            "самокат", "проектор", "камера", "перфоратор", "шуруповерт", "удочка", "гитара", "стремянка", "рюкзак"};
+    private static final String[] ADJECTIVES = {"простая", "мощная", "легкая", "новая", "складная", "походная",
+            "аккумуляторная", "профессиональная", "компактная", "удобная"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    public void seed() {
+        insert("INSERT INTO users (user_id, name, email) VALUES (?, ?, ?)", USERS,
+                id -> new Object[]{id, "user" + id, "user" + id + "@mail.ru"});
+        insert("INSERT INTO item_requests (item_request_id, description, user_id, time_of_creation) VALUES (?, ?, ?, ?)",
+                REQUESTS, id -> new Object[]{id, "Нужна " + word(), user(), timestamp(-365, 0)});
+        insert("INSERT INTO items (item_id, name, user_id, description, available, request_id) VALUES (?, ?, ?, ?, ?, ?)",
+                ITEMS, id -> new Object[]{id, word() + " " + id, (id - 1) % USERS + 1, description(),
+                        random.nextInt(10) < 8, random.nextInt(10) < 3 ? (long) random.nextInt(REQUESTS) + 1 : null});
+        insert("INSERT INTO bookings (booking_id, user_id, item_id, start_time, end_time, status) VALUES (?, ?, ?, ?, ?, ?)",
+                BOOKINGS, id -> booking(id));
+        insert("INSERT INTO comments (comment_id, user_id, item_id, rating, text, time_of_creation) VALUES (?, ?, ?, ?, ?, ?)",
+                COMMENTS, id -> new Object[]{id, user(), item(), random.nextInt(5) + 1, description(), timestamp(-365, 0)});
+
+        log.warn("Benchmark data seeded: {} users, {} requests, {} items, {} bookings, {} comments",
+                USERS, REQUESTS, ITEMS, BOOKINGS, COMMENTS);
+    }
+
+    private Object[] booking(long id) {
+        LocalDateTime start = now.plusHours(random.nextInt(365 * 24 * 2) - 365 * 24);
+        LocalDateTime end = start.plusHours(random.nextInt(14 * 24) + 1);
+        int statusRoll = random.nextInt(10);
+        Status status = statusRoll < 6 ? Status.APPROVED
+                : statusRoll < 8 ? Status.WAITING
+                : statusRoll < 9 ? Status.REJECTED
+                : Status.CANCELED;
+
+        return new Object[]{id, user(), item(), Timestamp.valueOf(start), Timestamp.valueOf(end),
+                String.valueOf(status.ordinal())};
+    }
+
+    private void insert(String sql, int count, RowFactory rowFactory) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (long id = 1; id <= count; id++) {
+            batch.add(rowFactory.create(id));
+
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private long user() {
+        return random.nextInt(USERS) + 1;
+    }
+
+    private long item() {
+        return random.nextInt(ITEMS) + 1;
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String description() {
+        StringBuilder description = new StringBuilder(ADJECTIVES[random.nextInt(ADJECTIVES.length)]);
+
+        for (int i = 0; i < 5; i++) {
+            description.append(' ').append(word());
+        }
+
+        return description.toString();
+    }
+
+    private Timestamp timestamp(int fromDays, int toDays) {
+        return Timestamp.valueOf(now.plusMinutes(random.nextInt((toDays - fromDays) * 24 * 60) + fromDays * 24L * 60));
+    }
+
+    private interface RowFactory {
+        Object[] create(long id);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.benchmark.ShareItState;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repostitory.BookingRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingDtoMapperBenchmark {
+
+    private List<Booking> bookings;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        BookingRepository bookingRepository = state.getBean(BookingRepository.class);
+
+        bookings = state.inRequest(() -> {
+            List<Booking> page = bookingRepository.findAll(PageRequest.of(0, 1_000)).getContent();
+            BookingDtoMapper.toDto(page);
+
+            return page;
+        });
+    }
+
+    @Benchmark
+    public List<BookingDto> toDto() {
+        return BookingDtoMapper.toDto(bookings);
+    }
+}
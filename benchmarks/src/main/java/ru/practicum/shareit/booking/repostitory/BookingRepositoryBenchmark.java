@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.repostitory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.benchmark.ShareItState;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingRepositoryBenchmark {
+
+    private BookingRepository bookingRepository;
+    private List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        bookingRepository = state.getBean(BookingRepository.class);
+        itemIds = LongStream.rangeClosed(1, 50).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Booking> findLastAndNextBookings() {
+        return bookingRepository.findLastAndNextBookings(itemIds, LocalDateTime.now());
+    }
+}
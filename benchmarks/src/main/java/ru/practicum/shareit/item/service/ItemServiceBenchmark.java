@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.benchmark.ShareItState;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.RequestItem;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    private static final long OWNER_ID = 1L;
+
+    private ShareItState state;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        this.state = state;
+        itemService = state.getBean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemBookingDto> getItemsForUser() {
+        return state.inRequest(() -> itemService.getItemsForUser(RequestItem.of(OWNER_ID, 0, 20)));
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItemBySingleWord() {
+        return state.inRequest(() -> itemService.searchItem(RequestItem.of(OWNER_ID, 0, 20, "дрель")));
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItemBySeveralWords() {
+        return state.inRequest(() -> itemService.searchItem(RequestItem.of(OWNER_ID, 0, 20, "мощная перфоратор")));
+    }
+}
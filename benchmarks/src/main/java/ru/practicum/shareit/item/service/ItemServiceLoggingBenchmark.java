@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.service;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.benchmark.ShareItState;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceLoggingBenchmark {
+
+    private static final long OWNER_ID = 1L;
+    private static final int PAGE_SIZE = 20;
+
+    private List<Item> items;
+    private AsyncAppender appender;
+    private Logger logger;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        ItemRepository itemRepository = state.getBean(ItemRepository.class);
+        items = state.inRequest(() -> itemRepository.findAllByUserUserId(OWNER_ID, PageRequest.of(0, PAGE_SIZE)));
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        NOPAppender<ILoggingEvent> sink = new NOPAppender<>();
+        sink.setContext(context);
+        sink.start();
+
+        appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.addAppender(sink);
+        appender.start();
+
+        logger = context.getLogger(ItemServiceLoggingBenchmark.class);
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Benchmark
+    public void concatenatedEntityDump() {
+        logger.info("Found items: " + items);
+    }
+
+    @Benchmark
+    public void parameterizedSummary() {
+        logger.info("Found {} items for user with id: {}", items.size(), OWNER_ID);
+    }
+}
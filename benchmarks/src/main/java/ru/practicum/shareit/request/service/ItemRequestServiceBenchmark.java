@@ -0,0 +1,68 @@
+package ru.practicum.shareit.request.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.benchmark.ShareItState;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemResponseDto;
+import ru.practicum.shareit.request.model.GetItemRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.request.dto.ItemRequestDtoMapper.toDto;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    private ShareItState state;
+    private ItemRequestServiceImpl itemRequestService;
+    private List<ItemRequestDto> requests;
+    private List<ItemResponseDto> responses;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        this.state = state;
+        itemRequestService = state.getBean(ItemRequestServiceImpl.class);
+
+        List<ItemRequest> itemRequests = state.inRequest(() -> state.getBean(ItemRequestRepository.class)
+                .findAll(PageRequest.of(0, 500)).getContent());
+        requests = toDto(itemRequests);
+        responses = state.getBean(ItemRepository.class).findAllResponsesByRequests(itemRequests.stream()
+                .map(ItemRequest::getItemRequestId)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> addResponsesToRequests() {
+        itemRequestService.addResponsesToRequests(requests, responses);
+
+        return requests;
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getItemRequests() {
+        return state.inRequest(() -> itemRequestService.getItemRequests(GetItemRequest.of(USER_ID, 0, 20)));
+    }
+}
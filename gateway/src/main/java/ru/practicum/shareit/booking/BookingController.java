@@ -9,9 +9,15 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -20,54 +26,78 @@ import javax.validation.constraints.PositiveOrZero;
 @Validated
 public class BookingController {
 
+	private static final int MAX_BULK_SIZE = 500;
+
 	private final BookingClient bookingClient;
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
-											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+	public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                              @RequestParam(required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+		log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-										   @Valid @RequestBody BookItemRequestDto requestDto) {
+	public CompletableFuture<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           @Valid @RequestBody BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
+	@PostMapping("/bulk")
+	public CompletableFuture<ResponseEntity<Object>> bookItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @RequestBody @NotEmpty @Size(max = MAX_BULK_SIZE)
+                                                            List<@Valid BookItemRequestDto> requestDtos) {
+		log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+		return bookingClient.bookItems(userId, requestDtos);
+	}
+
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-											 @PathVariable Long bookingId) {
+	public CompletableFuture<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                             @PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
-											  @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-											  @Positive @RequestParam(defaultValue = "10") int size) {
+	public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                              @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                              @Positive @RequestParam(defaultValue = "10") int size,
+                                                              @RequestParam(required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookingsForOwner(userId, state, from, size);
+		log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+		return bookingClient.getBookingsForOwner(userId, state, from, size, cursor);
+	}
+
+	@GetMapping("/export")
+	public void exportBookings(@RequestHeader("X-Sharer-User-Id") long userId, HttpServletResponse response) {
+		log.info("Export bookings, userId={}", userId);
+		bookingClient.exportBookings(userId, response);
+	}
+
+	@GetMapping("/owner/export")
+	public void exportBookingsForOwner(@RequestHeader("X-Sharer-User-Id") long userId, HttpServletResponse response) {
+		log.info("Export bookings for owner, userId={}", userId);
+		bookingClient.exportBookingsForOwner(userId, response);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> setApprove(@RequestHeader("X-Sharer-User-Id") Long userId,
-											 @PathVariable Long bookingId,
-											 @RequestParam Boolean approved) {
+	public CompletableFuture<ResponseEntity<Object>> setApprove(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @PathVariable Long bookingId,
+                                                             @RequestParam Boolean approved) {
 		return bookingClient.setApprove(userId, bookingId, approved);
 	}
 
 	@DeleteMapping("/{bookingId}")
-	public ResponseEntity<Object> deleteBooking(@PathVariable Long bookingId,
-												@RequestHeader("X-Sharer-User-Id") Long userId) {
+	public CompletableFuture<ResponseEntity<Object>> deleteBooking(@PathVariable Long bookingId,
+                                                                @RequestHeader("X-Sharer-User-Id") Long userId) {
 		return bookingClient.deleteBooking(bookingId, userId);
 	}
 }
\ No newline at end of file
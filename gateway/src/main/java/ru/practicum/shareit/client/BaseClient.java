@@ -1,98 +1,241 @@
 package ru.practicum.shareit.client;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
+import javax.servlet.http.HttpServletResponse;
+
 public class BaseClient {
+    private static final ResponseErrorHandler PASS_THROUGH_ERRORS = new ResponseErrorHandler() {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public void handleError(ClientHttpResponse response) {
+        }
+    };
+
     protected final RestTemplate rest;
+    protected final RestTemplate streamingRest;
+    protected final ForwardingClient forwardingClient;
+    protected final ResponseCache responseCache;
+
+    public BaseClient(RestTemplate rest, ForwardingClient forwardingClient) {
+        this(rest, null, forwardingClient);
+    }
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, @Nullable RestTemplate streamingRest, ForwardingClient forwardingClient) {
+        this(rest, streamingRest, forwardingClient, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RestTemplate streamingRest, ForwardingClient forwardingClient,
+                      @Nullable ResponseCache responseCache) {
         this.rest = rest;
+        this.rest.setErrorHandler(PASS_THROUGH_ERRORS);
+        this.streamingRest = streamingRest;
+        if (streamingRest != null) {
+            streamingRest.setErrorHandler(PASS_THROUGH_ERRORS);
+        }
+        this.forwardingClient = forwardingClient;
+        this.responseCache = responseCache;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected CompletableFuture<ResponseEntity<Object>> getConditional(String path, @Nullable Long userId,
+                                                                       @Nullable String ifNoneMatch) {
+        URI uri = expand(path, null);
+        HttpHeaders headers = defaultHeaders(userId);
+
+        if (responseCache == null) {
+            if (ifNoneMatch != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+
+            return sendBuffered(HttpMethod.GET, uri, headers);
+        }
+
+        String key = ResponseCache.key(userId, uri);
+        ResponseEntity<Object> cached = responseCache.get(key);
+        List<String> etags = new ArrayList<>();
+
+        if (ifNoneMatch != null) {
+            etags.add(ifNoneMatch);
+        }
+
+        if (cached != null) {
+            etags.add(cached.getHeaders().getETag());
+        }
+
+        if (!etags.isEmpty()) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, String.join(", ", etags));
+        }
+
+        return sendBuffered(HttpMethod.GET, uri, headers)
+                .thenApply(response -> responseCache.revalidate(key, cached, response));
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    protected CompletableFuture<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType,
+                                                                   InputStream body) {
+        URI uri = streamingRest.getUriTemplateHandler().expand(path);
+
+        return forwardingClient.forward(() -> stream(streamingRest, HttpMethod.POST, uri, request -> {
+            request.getHeaders().addAll(defaultHeaders(userId));
+            request.getHeaders().setContentType(contentType);
+            StreamUtils.copy(body, request.getBody());
+        }));
+    }
+
+    protected void getStream(String path, HttpServletResponse target) {
+        getStream(path, null, target);
+    }
+
+    protected void getStream(String path, @Nullable Long userId, HttpServletResponse target) {
+        rest.execute(path, HttpMethod.GET, request -> {
+            request.getHeaders().addAll(defaultHeaders(userId));
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        }, response -> {
+            target.setStatus(response.getRawStatusCode());
+            response.getHeaders().forEach((name, values) -> {
+                if (ResponseRelay.isRelayed(name)) {
+                    values.forEach(value -> target.addHeader(name, value));
+                }
+            });
+            StreamUtils.copy(response.getBody(), target.getOutputStream());
+
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return send(method, expand(path, parameters), defaultHeaders(userId), body);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, URI uri, HttpHeaders headers, @Nullable T body) {
+        if (forwardingClient.isNonBlocking()) {
+            return forwardingClient.exchange(method, uri, headers, body);
+        }
+
+        RequestCallback requestCallback = rest.httpEntityCallback(new HttpEntity<>(body, headers));
+
+        return forwardingClient.forward(() -> stream(rest, method, uri, requestCallback));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> sendBuffered(HttpMethod method, URI uri, HttpHeaders headers) {
+        if (forwardingClient.isNonBlocking()) {
+            return forwardingClient.exchangeBuffered(method, uri, headers, null);
+        }
+
+        RequestCallback requestCallback = rest.httpEntityCallback(new HttpEntity<>(headers));
+
+        return forwardingClient.forward(() -> rest.execute(uri, method, requestCallback, BaseClient::relay));
+    }
+
+    private static ResponseEntity<Object> stream(RestTemplate rest, HttpMethod method, URI uri,
+                                                 RequestCallback requestCallback) {
+        ClientHttpResponse response = null;
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            requestCallback.doWithRequest(request);
+            response = request.execute();
+
+            return relayStream(response);
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,17 +248,43 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<Object> relayStream(ClientHttpResponse response) throws IOException {
+        int status = response.getRawStatusCode();
+        HttpHeaders headers = response.getHeaders();
+
+        if (ResponseRelay.isConditional(headers)) {
+            try {
+                return relay(response);
+            } finally {
+                response.close();
+            }
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        PushbackInputStream body = new PushbackInputStream(new FilterInputStream(response.getBody()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    response.close();
+                }
+            }
+        });
+        int first = body.read();
+
+        if (first < 0) {
+            body.close();
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+            return ResponseRelay.toGatewayResponse(status, headers, (byte[]) null);
         }
 
-        return responseBuilder.build();
+        body.unread(first);
+
+        return ResponseRelay.toGatewayResponse(status, headers, body);
+    }
+
+    private static ResponseEntity<Object> relay(ClientHttpResponse response) throws IOException {
+        return ResponseRelay.toGatewayResponse(response.getRawStatusCode(), response.getHeaders(),
+                StreamUtils.copyToByteArray(response.getBody()));
     }
 }
@@ -0,0 +1,224 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class ForwardingClient implements DisposableBean {
+
+    private final ForwardingProperties properties;
+    private final ObjectMapper mapper;
+    private final CloseableHttpClient httpClient;
+    private final CloseableHttpAsyncClient asyncHttpClient;
+    private final ExecutorService virtualThreadExecutor;
+
+    public ForwardingClient(ForwardingProperties properties, ObjectMapper mapper) throws IOReactorException {
+        this.properties = properties;
+        this.mapper = mapper;
+        this.httpClient = createHttpClient(properties);
+        this.asyncHttpClient = isNonBlocking() ? createAsyncHttpClient(properties) : null;
+        this.virtualThreadExecutor = isVirtualThreads() ? createVirtualThreadExecutor() : null;
+
+        log.info("Gateway forwarding mode: {}, max connections: {}, per route: {}", properties.getMode(),
+                properties.getMaxConnections(), properties.getMaxConnectionsPerRoute());
+    }
+
+    public boolean isNonBlocking() {
+        return properties.getMode() == ForwardingMode.NON_BLOCKING;
+    }
+
+    public boolean isVirtualThreads() {
+        return properties.getMode() == ForwardingMode.VIRTUAL_THREADS;
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory(true);
+    }
+
+    public ClientHttpRequestFactory streamingRequestFactory() {
+        return requestFactory(false);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> forward(Supplier<ResponseEntity<Object>> call) {
+        if (isVirtualThreads()) {
+            return CompletableFuture.supplyAsync(call, virtualThreadExecutor);
+        }
+
+        return CompletableFuture.completedFuture(call.get());
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        return exchange(method, uri, headers, body, false);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> exchangeBuffered(HttpMethod method, URI uri, HttpHeaders headers,
+                                                                      @Nullable Object body) {
+        return exchange(method, uri, headers, body, true);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+
+        if (asyncHttpClient != null) {
+            asyncHttpClient.close();
+        }
+
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                               @Nullable Object body, boolean buffered) {
+        RequestBuilder request = RequestBuilder.create(method.name()).setUri(uri);
+        headers.forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+
+        if (body != null) {
+            request.setEntity(new ByteArrayEntity(toJson(body)));
+        }
+
+        CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        RelayResponseConsumer consumer = new RelayResponseConsumer(result, buffered);
+
+        asyncHttpClient.execute(HttpAsyncMethods.create(request.build()), consumer, new FutureCallback<>() {
+            @Override
+            public void completed(ResponseEntity<Object> response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(new ResourceAccessException("I/O error on " + method + " request for \""
+                        + uri + "\": " + e.getMessage(), e instanceof IOException ? (IOException) e : new IOException(e)));
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+
+        return result;
+    }
+
+    private ClientHttpRequestFactory requestFactory(boolean bufferRequestBody) {
+        if (isVirtualThreads()) {
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout((int) properties.getConnectTimeout().toMillis());
+            requestFactory.setReadTimeout((int) properties.getSocketTimeout().toMillis());
+            requestFactory.setBufferRequestBody(bufferRequestBody);
+
+            return requestFactory;
+        }
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setBufferRequestBody(bufferRequestBody);
+
+        return requestFactory;
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body can not be serialized: " + e.getMessage(), e);
+        }
+    }
+
+    private static CloseableHttpClient createHttpClient(ForwardingProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(properties))
+                .setKeepAliveStrategy(keepAliveStrategy(properties))
+                .evictIdleConnections(properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static CloseableHttpAsyncClient createAsyncHttpClient(ForwardingProperties properties)
+            throws IOReactorException {
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(properties.getIoThreads())
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSoTimeout((int) properties.getSocketTimeout().toMillis())
+                .build();
+        PoolingNHttpClientConnectionManager connectionManager =
+                new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(properties))
+                .setKeepAliveStrategy(keepAliveStrategy(properties))
+                .build();
+        client.start();
+
+        return client;
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                .name("gateway-forward-", 0)
+                .factory());
+    }
+
+    private static RequestConfig requestConfig(ForwardingProperties properties) {
+        return RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .setSocketTimeout((int) properties.getSocketTimeout().toMillis())
+                .build();
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(ForwardingProperties properties) {
+        long keepAlive = properties.getKeepAlive().toMillis();
+
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+        };
+    }
+}
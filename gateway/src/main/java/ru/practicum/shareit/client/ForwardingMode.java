@@ -0,0 +1,7 @@
+package ru.practicum.shareit.client;
+
+public enum ForwardingMode {
+    BLOCKING,
+    NON_BLOCKING,
+    VIRTUAL_THREADS
+}
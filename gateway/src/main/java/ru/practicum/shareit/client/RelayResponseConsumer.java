@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.ContentInputStream;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.util.SharedInputBuffer;
+import org.apache.http.nio.util.SimpleInputBuffer;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+class RelayResponseConsumer extends AbstractAsyncResponseConsumer<ResponseEntity<Object>> {
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final CompletableFuture<ResponseEntity<Object>> result;
+    private final boolean buffered;
+    private HttpResponse response;
+    private HttpHeaders headers;
+    private SharedInputBuffer streamBuffer;
+    private SimpleInputBuffer bodyBuffer;
+    private ResponseEntity<Object> relayed;
+    private volatile boolean completed;
+
+    RelayResponseConsumer(CompletableFuture<ResponseEntity<Object>> result, boolean buffered) {
+        this.result = result;
+        this.buffered = buffered;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse response) {
+        this.response = response;
+        this.headers = new HttpHeaders();
+
+        for (Header header : response.getAllHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+        long contentLength = entity.getContentLength();
+
+        if (buffered || contentLength == 0 || ResponseRelay.isConditional(headers)) {
+            bodyBuffer = new SimpleInputBuffer(contentLength > 0 ? (int) Math.min(contentLength, STREAM_BUFFER_SIZE)
+                    : 4096);
+            return;
+        }
+
+        streamBuffer = new SharedInputBuffer(STREAM_BUFFER_SIZE);
+        relayed = ResponseRelay.toGatewayResponse(response.getStatusLine().getStatusCode(), headers,
+                new ContentInputStream(streamBuffer));
+        result.complete(relayed);
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioControl) throws IOException {
+        if (streamBuffer != null) {
+            streamBuffer.consumeContent(decoder, ioControl);
+        } else {
+            bodyBuffer.consumeContent(decoder);
+        }
+    }
+
+    @Override
+    protected ResponseEntity<Object> buildResult(HttpContext context) throws IOException {
+        completed = true;
+
+        if (relayed != null) {
+            return relayed;
+        }
+
+        byte[] body = null;
+
+        if (bodyBuffer != null) {
+            body = new byte[bodyBuffer.length()];
+            bodyBuffer.read(body);
+        }
+
+        relayed = ResponseRelay.toGatewayResponse(response.getStatusLine().getStatusCode(), headers, body);
+        result.complete(relayed);
+
+        return relayed;
+    }
+
+    @Override
+    protected void releaseResources() {
+        if (!completed && streamBuffer != null) {
+            streamBuffer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class ResponseCache {
+
+    private static final String CACHE_NAME = "gatewayResponse";
+
+    private final int maxSize;
+    private final Map<String, ResponseEntity<Object>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ResponseCache(ForwardingProperties properties, MeterRegistry meterRegistry) {
+        this.maxSize = properties.getResponseCacheSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResponseEntity<Object>> eldest) {
+                boolean evict = size() > ResponseCache.this.maxSize;
+
+                if (evict) {
+                    evictions.increment();
+                }
+
+                return evict;
+            }
+        };
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("cache.evictions")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, ResponseCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public static String key(@Nullable Long userId, URI uri) {
+        return userId + " " + uri;
+    }
+
+    @Nullable
+    public ResponseEntity<Object> get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public ResponseEntity<Object> revalidate(String key, @Nullable ResponseEntity<Object> cached,
+                                             ResponseEntity<Object> response) {
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED
+                && Objects.equals(cached.getHeaders().getETag(), response.getHeaders().getETag())) {
+            hits.increment();
+            return cached;
+        }
+
+        boolean cacheable = response.getStatusCode() == HttpStatus.OK && response.getHeaders().getETag() != null;
+
+        if (!cacheable && cached == null) {
+            return response;
+        }
+
+        misses.increment();
+
+        synchronized (entries) {
+            if (cacheable) {
+                entries.put(key, response);
+            } else {
+                entries.remove(key);
+            }
+        }
+
+        return response;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+
+public class ResponseRelay {
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "upgrade", "content-length");
+
+    public static boolean isRelayed(String headerName) {
+        return !HOP_BY_HOP_HEADERS.contains(headerName.toLowerCase());
+    }
+
+    public static boolean isConditional(HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.ETAG) || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+    }
+
+    public static ResponseEntity<Object> toGatewayResponse(int status, HttpHeaders serverHeaders, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = responseBuilder(status, serverHeaders);
+
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
+        }
+
+        return responseBuilder.body(body);
+    }
+
+    public static ResponseEntity<Object> toGatewayResponse(int status, HttpHeaders serverHeaders, InputStream body) {
+        return responseBuilder(status, serverHeaders).body(new InputStreamResource(body));
+    }
+
+    private static ResponseEntity.BodyBuilder responseBuilder(int status, HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+
+        for (String name : serverHeaders.keySet()) {
+            if (isRelayed(name)) {
+                headers.put(name, List.copyOf(serverHeaders.get(name)));
+            }
+        }
+
+        return ResponseEntity.status(status).headers(headers);
+    }
+}
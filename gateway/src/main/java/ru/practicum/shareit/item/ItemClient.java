@@ -3,15 +3,19 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ForwardingClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
@@ -19,20 +23,26 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ForwardingClient forwardingClient) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(forwardingClient::requestFactory)
+                        .build(),
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(forwardingClient::streamingRequestFactory)
+                        .build(),
+                forwardingClient
         );
     }
 
-    public ResponseEntity<Object> getItem(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getItem(long userId, long itemId, @Nullable String ifNoneMatch) {
+        return getConditional("/" + itemId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getItems(long userId, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getItems(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -40,19 +50,23 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> update(long userId, ItemDto item, long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> update(long userId, ItemDto item, long itemId) {
         return patch("/" + itemId, userId, item);
     }
 
-    public ResponseEntity<Object> add(long userId, ItemDto item) {
+    public CompletableFuture<ResponseEntity<Object>> add(long userId, ItemDto item) {
         return post("", userId, item);
     }
 
-    public ResponseEntity<Object> delete(long userId, long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> importItems(long userId, MediaType contentType, InputStream items) {
+        return postStream("/import", userId, contentType, items);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> delete(long userId, long itemId) {
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> search(long userId, int from, int size, String text) {
+    public CompletableFuture<ResponseEntity<Object>> search(long userId, int from, int size, String text) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size,
@@ -61,7 +75,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto comment) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto comment) {
         return post("/" + itemId + "/comment", userId, comment);
     }
 }
\ No newline at end of file
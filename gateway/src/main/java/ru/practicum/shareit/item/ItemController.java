@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +15,9 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -23,56 +28,66 @@ public class ItemController {
     private final ItemClient client;
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable("itemId") Long itemId,
-                                              @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemById(@PathVariable("itemId") Long itemId,
+                                                                 @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                 String ifNoneMatch) {
         log.info("Get item {}, userId = {}", itemId, userId);
-        return client.getItem(userId, itemId);
+        return client.getItem(userId, itemId, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsForUser(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                  @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsForUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                     @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Get items with userId = {}, from = {}, size = {}", userId, from, size);
         return client.getItems(userId, from, size);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable("itemId") Long itemId,
-                                             @RequestBody ItemDto item,
-                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@PathVariable("itemId") Long itemId,
+                                                                @RequestBody ItemDto item,
+                                                                @RequestHeader("X-Sharer-User-Id") Long userId) {
         checkValidItemForUpdate(item);
         log.info("Update item {}, userId = {}", itemId, userId);
         return client.update(userId, item, itemId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@Valid @RequestBody ItemDto item,
-                           @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> addItem(@Valid @RequestBody ItemDto item,
+                                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Create item {}, userId = {}", item, userId);
         return client.add(userId, item);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public CompletableFuture<ResponseEntity<Object>> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                 InputStream items) {
+        log.info("Import items, userId = {}, content type = {}", userId, contentType);
+        return client.importItems(userId, contentType, items);
+    }
+
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@PathVariable Long itemId,
-                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteItem(@PathVariable Long itemId,
+                                                                @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Delete item {}, userId = {}", itemId, userId);
         return client.delete(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam("text") String text,
-                                         @RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                         @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> search(@RequestParam("text") String text,
+                                                            @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                            @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Search items with text = {}, userId = {}, from = {}, size = {}", text, userId, from, size);
         return client.search(userId, from, size, text);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@Valid @RequestBody CommentDto comment,
-                                             @RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable("itemId") Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(@Valid @RequestBody CommentDto comment,
+                                                                @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @PathVariable("itemId") Long itemId) {
         log.info("Create comment {}, userId = {}, for item {}", comment, userId, itemId);
         return client.addComment(userId, itemId, comment);
     }
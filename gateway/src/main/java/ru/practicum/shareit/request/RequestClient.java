@@ -4,13 +4,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ForwardingClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class RequestClient extends BaseClient {
@@ -18,24 +21,28 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ForwardingClient forwardingClient, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(forwardingClient::requestFactory)
+                        .build(),
+                null,
+                forwardingClient,
+                responseCache
         );
     }
 
-    public ResponseEntity<Object> add(long userId, ItemRequestDto request) {
+    public CompletableFuture<ResponseEntity<Object>> add(long userId, ItemRequestDto request) {
         return post("", userId, request);
     }
 
-    public ResponseEntity<Object> getItemRequests(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemRequestsPageable(long userId, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestsPageable(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
             "from", from,
             "size", size
@@ -43,11 +50,12 @@ public class RequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getItemRequest(long userId, long requestId,
+                                                                    @Nullable String ifNoneMatch) {
+        return getConditional("/" + requestId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> delete(long userId, long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> delete(long userId, long requestId) {
         return delete("/" + requestId, userId);
     }
 }
@@ -4,44 +4,68 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ForwardingClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ForwardingClient forwardingClient, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(forwardingClient::requestFactory)
+                        .build(),
+                null,
+                forwardingClient,
+                responseCache
         );
     }
 
-    public ResponseEntity<Object> add(UserDto user) {
+    public CompletableFuture<ResponseEntity<Object>> add(UserDto user) {
         return post("", user);
     }
 
-    public ResponseEntity<Object> update(long userId, UserDto user) {
+    public CompletableFuture<ResponseEntity<Object>> update(long userId, UserDto user) {
         return patch("/" + userId, user);
     }
 
-    public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> getUser(long userId, @Nullable String ifNoneMatch) {
+        return getConditional("/" + userId, null, ifNoneMatch);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getUsers(Integer size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+
+        if (cursor == null) {
+            return get("?size={size}", null, parameters);
+        }
+
+        parameters.put("cursor", cursor);
+
+        return get("?size={size}&cursor={cursor}", null, parameters);
     }
 
-    public ResponseEntity<Object> getUsers() {
-        return get("");
+    public void exportUsers(HttpServletResponse response) {
+        getStream("/export", response);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> delete(long userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
@@ -3,15 +3,20 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.common.FieldIsNotValidException;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -19,36 +24,48 @@ import javax.validation.constraints.Positive;
 @Slf4j
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserClient client;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@Positive @PathVariable("userId") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUserById(@Positive @PathVariable("userId") Long userId,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                 String ifNoneMatch) {
         log.info("Get user {}", userId);
-        return client.getUser(userId);
+        return client.getUser(userId, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
-        log.info("Get users");
-        return client.getUsers();
+    public CompletableFuture<ResponseEntity<Object>> getUsers(@Positive @Max(MAX_PAGE_SIZE)
+                                                              @RequestParam(defaultValue = "100") Integer size,
+                                                              @RequestParam(required = false) String cursor) {
+        log.info("Get users, size={}, cursor={}", size, cursor);
+        return client.getUsers(size, cursor);
+    }
+
+    @GetMapping("/export")
+    public void exportUsers(HttpServletResponse response) {
+        log.info("Export users");
+        client.exportUsers(response);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@Valid @RequestBody UserDto user) {
+    public CompletableFuture<ResponseEntity<Object>> addUser(@Valid @RequestBody UserDto user) {
         log.info("Create user {}", user);
         return client.add(user);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserDto user,
-                                             @Positive @PathVariable("userId") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@RequestBody UserDto user,
+                                                                @Positive @PathVariable("userId") Long userId) {
         checkValidUserForUpdate(user);
         log.info("Update user {}, userId = {}", user, userId);
         return client.update(userId, user);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@Positive @PathVariable("userId") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@Positive @PathVariable("userId") Long userId) {
         log.info("Delete user {}", userId);
         return client.delete(userId);
     }
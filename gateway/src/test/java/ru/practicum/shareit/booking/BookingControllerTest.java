@@ -8,14 +8,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -75,4 +87,86 @@ public class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    public void getBookingsWhenCursorGivenPassCursorToClient() {
+        when(client.getBookings(userId, BookingState.ALL, 0, 10, "cursor"))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(get(URL)
+                        .header("X-Sharer-User-Id", userId)
+                        .queryParam("cursor", "cursor"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        verify(client).getBookings(userId, BookingState.ALL, 0, 10, "cursor");
+    }
+
+    @Test
+    @SneakyThrows
+    public void bookItemsWhenEntryNotValidReturnBadRequest() {
+        BookItemRequestDto notValid = BookItemRequestDto.builder()
+                .itemId(2L)
+                .start(LocalDateTime.now().plusHours(1))
+                .build();
+
+        mvc.perform(post(URL + "/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(mapper.writeValueAsString(List.of(bookingDto, notValid)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @SneakyThrows
+    public void bookItemsWhenListEmptyReturnBadRequest() {
+        mvc.perform(post(URL + "/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @SneakyThrows
+    public void bookItemsWhenEntriesValidPassThemToClient() {
+        when(client.bookItems(eq(userId), any()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(post(URL + "/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(mapper.writeValueAsString(List.of(bookingDto, bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        verify(client).bookItems(eq(userId), argThat(requests -> requests.size() == 2));
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportBookingsForOwnerWhenInvokedPassResponseToClient() {
+        mvc.perform(get(URL + "/owner/export")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+
+        verify(client).exportBookingsForOwner(eq(userId), any());
+    }
+}
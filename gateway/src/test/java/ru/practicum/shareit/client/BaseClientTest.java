@@ -0,0 +1,256 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+
+    private static final byte[] RESPONSE = "[{\"id\":1,\"name\":\"Дрель\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private MockRestServiceServer server;
+    private ForwardingClient forwardingClient;
+    private ResponseCache responseCache;
+    private BaseClient client;
+    private BaseClient cachingClient;
+
+    @BeforeEach
+    @SneakyThrows
+    public void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        forwardingClient = new ForwardingClient(new ForwardingProperties(), new ObjectMapper());
+        client = new BaseClient(rest, forwardingClient);
+        responseCache = new ResponseCache(new ForwardingProperties(), new SimpleMeterRegistry());
+        cachingClient = new BaseClient(rest, null, forwardingClient, responseCache);
+    }
+
+    @AfterEach
+    @SneakyThrows
+    public void tearDown() {
+        forwardingClient.destroy();
+    }
+
+    @Test
+    @SneakyThrows
+    public void getWhenServerRespondsRelayHeadersAndBytes() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "cursor");
+
+        server.expect(requestTo("http://localhost:9090/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/search?text={text}", 1L, Map.of("text", "дрель")).get();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(RESPONSE, streamed(response));
+        server.verify();
+    }
+
+    @Test
+    @SneakyThrows
+    public void getWhenServerRespondsWithErrorRelayStatusAndBytes() {
+        byte[] error = "{\"error\":\"Item with id: 100 not found\"}".getBytes(StandardCharsets.UTF_8);
+
+        server.expect(requestTo("http://localhost:9090/items/100"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        ResponseEntity<Object> response = client.get("/100", 1L).get();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(error, streamed(response));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getWhenServerRespondsWithEtagBufferBytes() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON).headers(etag("\"1\"")));
+
+        ResponseEntity<Object> response = client.get("/1", 1L).get();
+
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertArrayEquals(RESPONSE, (byte[]) response.getBody());
+    }
+
+    @Test
+    @SneakyThrows
+    public void getConditionalWhenNotCachingRelayClientEtag() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"1\"")));
+
+        ResponseEntity<Object> response = client.getConditional("/1", 1L, "\"1\"").get();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        server.verify();
+    }
+
+    @Test
+    @SneakyThrows
+    public void getConditionalWhenCachedResponseNotModifiedReturnCachedResponse() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON).headers(etag("\"1\"")));
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"1\"")));
+
+        ResponseEntity<Object> first = cachingClient.getConditional("/1", 1L, null).get();
+        ResponseEntity<Object> second = cachingClient.getConditional("/1", 1L, null).get();
+
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("\"1\"", second.getHeaders().getETag());
+        assertSame(first, second);
+        assertArrayEquals(RESPONSE, (byte[]) second.getBody());
+        server.verify();
+    }
+
+    @Test
+    @SneakyThrows
+    public void getConditionalWhenClientEtagMatchesStaleCacheRelayNotModifiedAndEvict() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON).headers(etag("\"1\"")));
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"2\", \"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"2\"")));
+
+        cachingClient.getConditional("/1", 1L, null).get();
+        ResponseEntity<Object> response = cachingClient.getConditional("/1", 1L, "\"2\"").get();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"2\"", response.getHeaders().getETag());
+        assertNull(responseCache.get(ResponseCache.key(1L, URI.create("http://localhost:9090/items/1"))));
+        server.verify();
+    }
+
+    @Test
+    @SneakyThrows
+    public void getConditionalWhenCachedForOtherUserNotRevalidate() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON).headers(etag("\"1\"")));
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON).headers(etag("\"1\"")));
+
+        cachingClient.getConditional("/1", 1L, null).get();
+        cachingClient.getConditional("/1", 2L, null).get();
+
+        assertEquals(2, responseCache.size());
+        server.verify();
+    }
+
+    @Test
+    @SneakyThrows
+    public void deleteWhenServerRespondsWithoutBodyReturnEmptyResponse() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.OK));
+
+        ResponseEntity<Object> response = client.delete("/1", 1L).get();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.hasBody());
+    }
+
+    @Test
+    @SneakyThrows
+    public void postStreamWhenBodyGivenForwardBytesWithContentType() {
+        byte[] items = "{\"name\":\"Дрель\"}\n{\"name\":\"Пила\"}\n".getBytes(StandardCharsets.UTF_8);
+        RestTemplate streamingRest = new RestTemplate();
+        streamingRest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        MockRestServiceServer streamingServer = MockRestServiceServer.bindTo(streamingRest).build();
+        BaseClient streamingClient = new BaseClient(new RestTemplate(), streamingRest, forwardingClient);
+
+        streamingServer.expect(requestTo("http://localhost:9090/items/import"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().bytes(items))
+                .andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = streamingClient.postStream("/import", 1L, MediaType.APPLICATION_NDJSON,
+                new ByteArrayInputStream(items)).get();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(RESPONSE, streamed(response));
+        streamingServer.verify();
+    }
+
+    @Test
+    public void getStreamWhenServerRespondsCopyStatusHeadersAndBody() {
+        byte[] bookings = "{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8);
+        MockHttpServletResponse target = new MockHttpServletResponse();
+
+        server.expect(requestTo("http://localhost:9090/items/export"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(bookings, MediaType.APPLICATION_NDJSON));
+
+        client.getStream("/export", 1L, target);
+
+        assertEquals(HttpStatus.OK.value(), target.getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, target.getContentType());
+        assertArrayEquals(bookings, target.getContentAsByteArray());
+        server.verify();
+    }
+
+    @SneakyThrows
+    private static byte[] streamed(ResponseEntity<Object> response) {
+        InputStreamResource body = assertInstanceOf(InputStreamResource.class, response.getBody());
+
+        try (InputStream in = body.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static HttpHeaders etag(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+
+        return headers;
+    }
+}
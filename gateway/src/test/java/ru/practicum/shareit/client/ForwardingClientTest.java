@@ -0,0 +1,180 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ForwardingClientTest {
+
+    private static final byte[] RESPONSE = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+    private static final int LARGE_RESPONSE_SIZE = 1024 * 1024;
+
+    private HttpServer server;
+    private ForwardingClient client;
+    private AtomicReference<String> receivedBody;
+    private AtomicReference<String> receivedUserId;
+
+    @BeforeEach
+    @SneakyThrows
+    public void setUp() {
+        receivedBody = new AtomicReference<>();
+        receivedUserId = new AtomicReference<>();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            receivedUserId.set(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+            exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.getResponseHeaders().add("X-Next-Cursor", "cursor");
+            exchange.sendResponseHeaders(exchange.getRequestURI().getPath().endsWith("/404") ? 404 : 200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        server.createContext("/export", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, 0);
+            byte[] chunk = new byte[8192];
+            Arrays.fill(chunk, (byte) 'a');
+            for (int written = 0; written < LARGE_RESPONSE_SIZE; written += chunk.length) {
+                exchange.getResponseBody().write(chunk);
+            }
+            exchange.close();
+        });
+        server.createContext("/empty", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        ForwardingProperties properties = new ForwardingProperties();
+        properties.setMode(ForwardingMode.NON_BLOCKING);
+        properties.setIoThreads(1);
+        client = new ForwardingClient(properties, new ObjectMapper());
+    }
+
+    @AfterEach
+    @SneakyThrows
+    public void tearDown() {
+        client.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    @SneakyThrows
+    public void exchangeWhenServerRespondsRelayStatusHeadersAndBytes() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        ResponseEntity<Object> response = client.exchange(HttpMethod.POST, uri("/items"), headers,
+                Map.of("name", "Дрель")).get();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(RESPONSE, streamed(response));
+        assertEquals("{\"name\":\"Дрель\"}", receivedBody.get());
+        assertEquals("1", receivedUserId.get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void exchangeWhenServerRespondsWithErrorRelayStatusAndBytes() {
+        ResponseEntity<Object> response = client.exchange(HttpMethod.GET, uri("/items/404"), new HttpHeaders(), null)
+                .get();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(RESPONSE, streamed(response));
+    }
+
+    @Test
+    @SneakyThrows
+    public void exchangeWhenResponseLargerThanBufferStreamWholeBody() {
+        ResponseEntity<Object> response = client.exchange(HttpMethod.GET, uri("/export"), new HttpHeaders(), null)
+                .get();
+
+        byte[] body = streamed(response);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(LARGE_RESPONSE_SIZE, body.length);
+        assertEquals('a', body[body.length - 1]);
+    }
+
+    @Test
+    @SneakyThrows
+    public void exchangeWhenResponseHasNoContentReturnNoBody() {
+        ResponseEntity<Object> response = client.exchange(HttpMethod.DELETE, uri("/empty"), new HttpHeaders(), null)
+                .get();
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    @SneakyThrows
+    public void exchangeBufferedWhenServerRespondsRelayBytes() {
+        ResponseEntity<Object> response = client.exchangeBuffered(HttpMethod.GET, uri("/items/1"), new HttpHeaders(),
+                null).get();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(RESPONSE, (byte[]) response.getBody());
+    }
+
+    @Test
+    @SneakyThrows
+    public void forwardWhenVirtualThreadsModeRunCallOnVirtualThread() {
+        ForwardingProperties properties = new ForwardingProperties();
+        properties.setMode(ForwardingMode.VIRTUAL_THREADS);
+        ForwardingClient virtualThreadsClient = new ForwardingClient(properties, new ObjectMapper());
+
+        try {
+            AtomicReference<Thread> callThread = new AtomicReference<>();
+            ResponseEntity<Object> response = virtualThreadsClient.forward(() -> {
+                callThread.set(Thread.currentThread());
+                return ResponseEntity.ok().build();
+            }).get();
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(callThread.get().isVirtual());
+            assertInstanceOf(SimpleClientHttpRequestFactory.class, virtualThreadsClient.requestFactory());
+        } finally {
+            virtualThreadsClient.destroy();
+        }
+    }
+
+    @SneakyThrows
+    private static byte[] streamed(ResponseEntity<Object> response) {
+        InputStreamResource body = assertInstanceOf(InputStreamResource.class, response.getBody());
+
+        try (InputStream in = body.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ResponseCacheTest {
+
+    private ResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        ForwardingProperties properties = new ForwardingProperties();
+        properties.setResponseCacheSize(2);
+        cache = new ResponseCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void revalidateWhenCacheFullEvictLeastRecentlyUsed() {
+        String first = key(1L);
+        String second = key(2L);
+        String third = key(3L);
+
+        cache.revalidate(first, null, withEtag("\"1\""));
+        cache.revalidate(second, null, withEtag("\"2\""));
+        cache.get(first);
+        cache.revalidate(third, null, withEtag("\"3\""));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(third));
+    }
+
+    @Test
+    public void revalidateWhenResponseWithoutEtagNotStore() {
+        cache.revalidate(key(1L), null, ResponseEntity.ok().body(new byte[]{1}));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void revalidateWhenServerRespondsWithErrorRemoveCachedResponse() {
+        String key = key(1L);
+        ResponseEntity<Object> cached = withEtag("\"1\"");
+        cache.revalidate(key, null, cached);
+
+        ResponseEntity<Object> notFound = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        assertSame(notFound, cache.revalidate(key, cached, notFound));
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void revalidateWhenNotModifiedReturnCachedResponse() {
+        String key = key(1L);
+        ResponseEntity<Object> cached = withEtag("\"1\"");
+        cache.revalidate(key, null, cached);
+
+        assertSame(cached, cache.revalidate(key, cached, ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"1\"")
+                .build()));
+    }
+
+    @Test
+    public void revalidateWhenNotModifiedForOtherEtagRemoveCachedResponse() {
+        String key = key(1L);
+        ResponseEntity<Object> cached = withEtag("\"1\"");
+        cache.revalidate(key, null, cached);
+
+        ResponseEntity<Object> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"2\"").build();
+
+        assertSame(notModified, cache.revalidate(key, cached, notModified));
+        assertNull(cache.get(key));
+    }
+
+    private static String key(long itemId) {
+        return ResponseCache.key(1L, URI.create("http://localhost:9090/items/" + itemId));
+    }
+
+    private static ResponseEntity<Object> withEtag(String etag) {
+        return ResponseEntity.ok().eTag(etag).body(new byte[]{1});
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.common;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+public class VirtualThreadsLoadTest {
+
+    private static final int MAX_PLATFORM_THREADS = 16;
+    private static final int CONCURRENT_REQUESTS = 128;
+    private static final Duration SERVER_DELAY = Duration.ofMillis(300);
+    private static final byte[] RESPONSE = "{\"id\":1,\"name\":\"Jon\"}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private AtomicInteger inFlight;
+    private AtomicInteger maxInFlight;
+
+    @BeforeEach
+    @SneakyThrows
+    public void setUp() {
+        inFlight = new AtomicInteger();
+        maxInFlight = new AtomicInteger();
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        server.setExecutor(serverExecutor);
+        server.createContext("/users", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SERVER_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void platformThreadsWhenRequestsExceedPoolConcurrencyLimitedByPoolSize() {
+        int concurrency = measureConcurrency("--shareit-server.client.mode=blocking");
+
+        assertTrue(concurrency <= MAX_PLATFORM_THREADS, "Concurrency on platform threads: " + concurrency);
+    }
+
+    @Test
+    public void virtualThreadsWhenRequestsExceedPoolConcurrencyNotLimitedByPoolSize() {
+        int concurrency = measureConcurrency("--spring.profiles.active=virtual-threads");
+
+        assertTrue(concurrency > MAX_PLATFORM_THREADS * 2, "Concurrency on virtual threads: " + concurrency);
+    }
+
+    @SneakyThrows
+    private int measureConcurrency(String mode) {
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                new SpringApplicationBuilder(ShareItGateway.class).run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + MAX_PLATFORM_THREADS,
+                        "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                        mode,
+                        "--shareit-server.client.max-connections=" + CONCURRENT_REQUESTS,
+                        "--shareit-server.client.max-connections-per-route=" + CONCURRENT_REQUESTS)) {
+            URI uri = URI.create("http://localhost:" + context.getWebServer().getPort() + "/users/1");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.get().statusCode());
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            log.info("{} requests with {}: max concurrency {}, took {} ms", CONCURRENT_REQUESTS, mode,
+                    maxInFlight.get(), elapsed.toMillis());
+
+            return maxInFlight.get();
+        }
+    }
+}
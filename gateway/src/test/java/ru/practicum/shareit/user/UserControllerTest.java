@@ -0,0 +1,112 @@
+package ru.practicum.shareit.user;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class)
+public class UserControllerTest {
+
+    private static final String URL = "/users";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private UserClient client;
+
+    @Test
+    @SneakyThrows
+    public void getUsersWhenSizeExceedsLimitReturnBadRequest() {
+        mvc.perform(get(URL)
+                        .param("size", "1001"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUsersWhenCursorPassedForwardItToClient() {
+        when(client.getUsers(10, "Mw"))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(get(URL)
+                        .param("size", "10")
+                        .param("cursor", "Mw"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        verify(client).getUsers(10, "Mw");
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUsersWhenBodyStreamedWriteItWithServerContentType() {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(client.getUsers(100, null))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(new InputStreamResource(new ByteArrayInputStream(body)))));
+
+        MvcResult result = mvc.perform(get(URL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUserByIdWhenEtagMatchesCachedResponseReturnNotModified() {
+        when(client.getUser(1L, "\"3\""))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok().eTag("\"3\"").body(new byte[]{1})));
+
+        MvcResult result = mvc.perform(get(URL + "/{userId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportUsersWhenInvokedPassResponseToClient() {
+        mvc.perform(get(URL + "/export"))
+                .andExpect(status().isOk());
+
+        verify(client).exportUsers(any());
+    }
+}
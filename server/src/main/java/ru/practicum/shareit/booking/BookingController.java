@@ -1,19 +1,34 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.RequestBooking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.NdjsonResponseWriter;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
+@Validated
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final ObjectMapper mapper;
 
     @PostMapping
     public BookingDto addBooking(@RequestBody BookingDto booking,
@@ -21,6 +36,13 @@ public class BookingController {
         return bookingService.addBooking(booking, userId);
     }
 
+    @PostMapping("/bulk")
+    public List<BookingResultDto> addBookings(@RequestBody @NotEmpty @Size(max = BookingService.MAX_BULK_SIZE)
+                                              List<BookingDto> bookings,
+                                              @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.addBookings(bookings, userId);
+    }
+
     @DeleteMapping("/{bookingId}")
     public BookingDto deleteBooking(@PathVariable Long bookingId,
                                     @RequestHeader("X-Sharer-User-Id") Long userId) {
@@ -41,18 +63,49 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getBookingForCurrentUser(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @RequestParam(required = false, defaultValue = "ALL") String state,
-                                                     @RequestParam(defaultValue = "0") int from,
-                                                     @RequestParam(defaultValue = "10") int size) {
-        return bookingService.getBookingForCurrentUser(new RequestBooking(userId, state, from, size));
+    public ResponseEntity<List<BookingDto>> getBookingForCurrentUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     @RequestParam(required = false, defaultValue = "ALL") String state,
+                                                                     @RequestParam(defaultValue = "0") int from,
+                                                                     @RequestParam(defaultValue = "10") int size,
+                                                                     @RequestParam(required = false) String cursor) {
+        return withNextCursor(bookingService.getBookingForCurrentUser(new RequestBooking(userId, state, from, size, cursor)), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @RequestParam(required = false, defaultValue = "ALL") String state,
-                                               @RequestParam(defaultValue = "0") int from,
-                                               @RequestParam(defaultValue = "10") int size) {
-        return bookingService.getBookingForOwner(new RequestBooking(userId, state, from, size));
+    public ResponseEntity<List<BookingDto>> getBookingForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(required = false, defaultValue = "ALL") String state,
+                                                               @RequestParam(defaultValue = "0") int from,
+                                                               @RequestParam(defaultValue = "10") int size,
+                                                               @RequestParam(required = false) String cursor) {
+        return withNextCursor(bookingService.getBookingForOwner(new RequestBooking(userId, state, from, size, cursor)), size);
+    }
+
+    @GetMapping("/export")
+    public void exportBookingsForCurrentUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                             HttpServletResponse response) throws IOException {
+        exportBookings(userId, BookingRole.BOOKER, response);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                       HttpServletResponse response) throws IOException {
+        exportBookings(userId, BookingRole.OWNER, response);
+    }
+
+    private void exportBookings(Long userId, BookingRole role, HttpServletResponse response) throws IOException {
+        NdjsonResponseWriter.write(mapper, BookingDto.class, response,
+                consumer -> bookingService.exportBookings(userId, role, consumer));
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+
+        String nextCursor = BookingCursor.of(bookings.get(bookings.size() - 1)).encode();
+
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(bookings);
     }
-}
\ No newline at end of file
+}
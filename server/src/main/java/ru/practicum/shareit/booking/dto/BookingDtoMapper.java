@@ -33,7 +33,7 @@ public class BookingDtoMapper {
         LocalDateTime end = bookingDto.getEnd();
         Status status = bookingDto.getStatus();
 
-        return new Booking(id, user, item, start, end, status);
+        return new Booking(id, user, item, start, end, status, 0);
     }
 
     public static List<BookingDto> toDto(List<Booking> bookings) {
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingResultDto {
+
+    private BookingDto booking;
+    private String error;
+
+    public static BookingResultDto success(BookingDto booking) {
+        return new BookingResultDto(booking, null);
+    }
+
+    public static BookingResultDto failure(String error) {
+        return new BookingResultDto(null, error);
+    }
+}
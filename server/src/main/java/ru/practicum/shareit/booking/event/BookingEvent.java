@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingEvent {
+
+    private final Long bookingId;
+    private final Long itemId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Status status;
+    private final boolean removed;
+
+    public static BookingEvent saved(Booking booking) {
+        return new BookingEvent(booking.getBookingId(), booking.getItem().getItemId(), booking.getStartTime(),
+                booking.getEndTime(), booking.getStatus(), false);
+    }
+
+    public static BookingEvent removed(Booking booking) {
+        return new BookingEvent(booking.getBookingId(), booking.getItem().getItemId(), booking.getStartTime(),
+                booking.getEndTime(), booking.getStatus(), true);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.booking.model.Status;
+
+@Slf4j
+public class BookingNotWaitingException extends RuntimeException {
+
+    private static final String MESSAGE = "Booking with id: %d is not waiting for approval, status: %s";
+
+    public BookingNotWaitingException(Long id, Status status) {
+        super(String.format(MESSAGE, id, status));
+        log.info(String.format(MESSAGE, id, status));
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+public class BookingOverlapException extends RuntimeException {
+
+    private static final String MESSAGE = "Item with id: %d is already booked between %s and %s";
+
+    public BookingOverlapException(Long itemId, LocalDateTime start, LocalDateTime end) {
+        super(String.format(MESSAGE, itemId, start, end));
+        log.info(String.format(MESSAGE, itemId, start, end));
+    }
+}
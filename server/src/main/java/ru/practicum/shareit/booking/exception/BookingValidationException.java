@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class BookingValidationException extends RuntimeException {
+
+    public BookingValidationException(String message) {
+        super(message);
+        log.info(message);
+    }
+}
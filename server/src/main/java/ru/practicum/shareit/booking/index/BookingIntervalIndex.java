@@ -0,0 +1,178 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repostitory.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex implements SmartInitializingSingleton {
+
+    private static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    private static final Comparator<BookingInterval> BY_START = Comparator.comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getBookingId);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, NavigableSet<BookingInterval>> intervalsByItem = new ConcurrentHashMap<>();
+    private final Map<Long, BookingInterval> intervalsByBooking = new ConcurrentHashMap<>();
+    private final Set<Long> itemsWithLegacyOverlaps = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        intervalsByItem.clear();
+        intervalsByBooking.clear();
+        itemsWithLegacyOverlaps.clear();
+
+        List<BookingInterval> intervals = bookingRepository.findAllIntervals(ACTIVE_STATUSES, LocalDateTime.now());
+        intervals.forEach(this::add);
+
+        log.info("Booking interval index rebuilt with {} bookings", intervals.size());
+    }
+
+    public boolean hasOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableSet<BookingInterval> intervals = intervalsByItem.get(itemId);
+
+        if (intervals == null) {
+            return false;
+        }
+
+        if (itemsWithLegacyOverlaps.contains(itemId)) {
+            return scanOverlap(intervals, itemId, start, end);
+        }
+
+        BookingInterval probe = new BookingInterval(Long.MAX_VALUE, itemId, start, start);
+        BookingInterval floor = intervals.floor(probe);
+        BookingInterval ceiling = intervals.higher(probe);
+
+        if (floor != null && floor.getEnd().isAfter(start) || ceiling != null && ceiling.getStart().isBefore(end)) {
+            return true;
+        }
+
+        evictEndedHead(intervals);
+
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.index.booking.eviction-interval:PT10M}",
+            initialDelayString = "${shareit.index.booking.eviction-interval:PT10M}")
+    public void evictEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        int evicted = 0;
+
+        for (BookingInterval interval : intervalsByBooking.values()) {
+            if (!interval.getEnd().isAfter(now)) {
+                remove(interval.getBookingId());
+                evicted++;
+            }
+        }
+
+        log.debug("Evicted {} ended bookings from interval index", evicted);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingSaved(BookingEvent event) {
+        if (!event.isRemoved() && ACTIVE_STATUSES.contains(event.getStatus())) {
+            add(new BookingInterval(event.getBookingId(), event.getItemId(), event.getStartTime(), event.getEndTime()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCommitted(BookingEvent event) {
+        if (event.isRemoved() || !ACTIVE_STATUSES.contains(event.getStatus())) {
+            remove(event.getBookingId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onBookingRolledBack(BookingEvent event) {
+        if (!event.isRemoved() && !bookingRepository.existsById(event.getBookingId())) {
+            remove(event.getBookingId());
+        }
+    }
+
+    private void evictEndedHead(NavigableSet<BookingInterval> intervals) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingInterval first = intervals.isEmpty() ? null : intervals.first();
+
+        while (first != null && !first.getEnd().isAfter(now)) {
+            remove(first.getBookingId());
+            first = intervals.higher(first);
+        }
+    }
+
+    private boolean scanOverlap(NavigableSet<BookingInterval> intervals, Long itemId, LocalDateTime start,
+                                LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingInterval probe = new BookingInterval(Long.MIN_VALUE, itemId, end, end);
+        Iterator<BookingInterval> startedBefore = intervals.headSet(probe, false).descendingIterator();
+
+        while (startedBefore.hasNext()) {
+            BookingInterval interval = startedBefore.next();
+
+            if (interval.getEnd().isAfter(start)) {
+                return true;
+            }
+
+            if (!interval.getEnd().isAfter(now)) {
+                remove(interval.getBookingId());
+            }
+        }
+
+        return false;
+    }
+
+    private void add(BookingInterval interval) {
+        NavigableSet<BookingInterval> intervals = intervalsByItem.computeIfAbsent(interval.getItemId(),
+                id -> new ConcurrentSkipListSet<>(BY_START));
+        intervals.add(interval);
+        intervalsByBooking.put(interval.getBookingId(), interval);
+
+        BookingInterval lower = intervals.lower(interval);
+        BookingInterval higher = intervals.higher(interval);
+
+        if (lower != null && lower.getEnd().isAfter(interval.getStart())
+                || higher != null && higher.getStart().isBefore(interval.getEnd())) {
+            itemsWithLegacyOverlaps.add(interval.getItemId());
+        }
+    }
+
+    private void remove(Long bookingId) {
+        BookingInterval interval = intervalsByBooking.remove(bookingId);
+
+        if (interval == null) {
+            return;
+        }
+
+        NavigableSet<BookingInterval> intervals = intervalsByItem.get(interval.getItemId());
+
+        if (intervals != null) {
+            intervals.remove(interval);
+
+            if (intervals.isEmpty()) {
+                itemsWithLegacyOverlaps.remove(interval.getItemId());
+            }
+        }
+    }
+}
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Booking implements Comparable<Booking> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long bookingId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,6 +38,9 @@ public class Booking implements Comparable<Booking> {
     @Enumerated(EnumType.ORDINAL)
     private Status status;
 
+    @Version
+    private long version;
+
     @Override
     public int compareTo(Booking booking) {
         return booking.getEndTime().compareTo(this.endTime);
@@ -13,4 +13,5 @@ public class RequestBooking {
     private String state;
     private int from;
     private int size;
+    private String cursor;
 }
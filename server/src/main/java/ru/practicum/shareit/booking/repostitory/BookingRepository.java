@@ -1,54 +1,76 @@
 package ru.practicum.shareit.booking.repostitory;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.index.BookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-    List<Booking> findAllByUserUserIdOrderByEndTimeDesc(Long userId, PageRequest pageRequest);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSearchRepository {
 
-    @Query("select b " +
-            "from Booking as b " +
-            "join b.item as i " +
-            "join i.user as u " +
-            "where u.userId = ?1 " +
-            "order by b.startTime desc")
-    List<Booking> findAllBookingByOwnerId(Long ownerId, PageRequest pageRequest);
-
-    List<Booking> findAllByUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc(Long userId, LocalDateTime one, LocalDateTime two, PageRequest pageRequest);
-
-    List<Booking> findAllByUserUserIdAndStartTimeIsAfterOrderByEndTimeDesc(Long userId, LocalDateTime time, PageRequest pageRequest);
-
-    List<Booking> findAllByUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(Long userId, LocalDateTime time, Status status, PageRequest pageRequest);
-
-    List<Booking> findAllByItemUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(Long userId, LocalDateTime time, Status status, PageRequest pageRequest);
+    int EXPORT_FETCH_SIZE = 500;
 
-    List<Booking> findAllByUserUserIdAndStatusOrderByEndTimeDesc(Long userId, Status status, PageRequest pageRequest);
+    @Override
+    @EntityGraph(attributePaths = {"user", "item", "item.user"})
+    Optional<Booking> findById(Long bookingId);
 
-    List<Booking> findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(Long userId, LocalDateTime time, PageRequest pageRequest);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking as b " +
+            "where b.bookingId = ?1")
+    Optional<Booking> findByIdForUpdate(Long bookingId);
 
-    List<Booking> findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(Long userId, LocalDateTime time);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking as b " +
+            "set b.status = ?3, b.version = b.version + 1 " +
+            "where b.bookingId = ?1 " +
+            "and b.status = ru.practicum.shareit.booking.model.Status.WAITING " +
+            "and b.item.itemId in (select i.itemId from Item as i where i.user.userId = ?2)")
+    int updateWaitingStatus(Long bookingId, Long ownerId, Status status);
 
-    List<Booking> findAllByItemUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc(Long userId, LocalDateTime one, LocalDateTime two, PageRequest pageRequest);
+    boolean existsByUserUserIdAndItemItemIdAndStatusAndEndTimeBefore(Long userId, Long itemId, Status status,
+                                                                    LocalDateTime time);
 
-    List<Booking> findAllByItemUserUserIdAndStartTimeIsAfterOrderByEndTimeDesc(Long userId, LocalDateTime time, PageRequest pageRequest);
-
-    List<Booking> findAllByItemUserUserIdAndStatusOrderByEndTimeDesc(Long userId, Status status, PageRequest pageRequest);
-
-    List<Booking> findAllByItemUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(Long userId, LocalDateTime time, PageRequest pageRequest);
-
-    List<Booking> findAllByItemItemId(Long itemId);
-
-    @Query("select b " +
+    @Query("select new ru.practicum.shareit.booking.index.BookingInterval(b.bookingId, b.item.itemId, b.startTime, b.endTime) " +
             "from Booking as b " +
-            "join b.item as i " +
-            "where i in ?1")
-    List<Booking> findAllByItems(List<Item> items);
+            "where b.status in ?1 " +
+            "and b.endTime > ?2")
+    List<BookingInterval> findAllIntervals(List<Status> statuses, LocalDateTime time);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select b from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.user " +
+            "join fetch b.user as u " +
+            "where u.userId = ?1 " +
+            "order by b.startTime desc, b.bookingId desc")
+    Stream<Booking> streamAllByBooker(Long userId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select b from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.user as o " +
+            "join fetch b.user " +
+            "where o.userId = ?1 " +
+            "order by b.startTime desc, b.bookingId desc")
+    Stream<Booking> streamAllByOwner(Long userId);
 }
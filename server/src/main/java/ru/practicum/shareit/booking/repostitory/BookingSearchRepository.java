@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.repostitory;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingSearchRepository {
+
+    List<Booking> findAllByState(Long userId, BookingRole role, BookingState state, LocalDateTime time,
+                                 @Nullable BookingCursor after, Pageable pageable);
+
+    List<Booking> findLastAndNextBookings(List<Long> itemIds, LocalDateTime time);
+}
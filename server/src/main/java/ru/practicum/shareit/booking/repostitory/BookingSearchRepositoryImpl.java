@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking.repostitory;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.LongType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingSearchRepositoryImpl implements BookingSearchRepository {
+
+    private static final String LAST_AND_NEXT_BOOKING_IDS = "select ranked.booking_id " +
+            "from (select b.booking_id, " +
+            "row_number() over (partition by b.item_id order by b.end_time desc) as position " +
+            "from bookings as b " +
+            "where b.item_id in (:itemIds) " +
+            "and b.start_time < :time " +
+            "and b.status <> :rejected " +
+            "union all " +
+            "select b.booking_id, " +
+            "row_number() over (partition by b.item_id order by b.end_time) as position " +
+            "from bookings as b " +
+            "where b.item_id in (:itemIds) " +
+            "and b.start_time > :time " +
+            "and b.status <> :rejected) as ranked " +
+            "where ranked.position = 1";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Booking> findAllByState(Long userId, BookingRole role, BookingState state, LocalDateTime time,
+                                        @Nullable BookingCursor after, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item", JoinType.INNER);
+        Join<Item, User> owner = (Join<Item, User>) item.<Item, User>fetch("user", JoinType.INNER);
+        Join<Booking, User> booker = (Join<Booking, User>) booking.<Booking, User>fetch("user", JoinType.INNER);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(BookingRole.OWNER.equals(role)
+                ? cb.equal(owner.get("userId"), userId)
+                : cb.equal(booker.get("userId"), userId));
+        predicates.addAll(statePredicates(cb, booking, state, time));
+
+        boolean byStart = sortsByStart(role, state);
+        Path<LocalDateTime> sortTime = booking.get(byStart ? "startTime" : "endTime");
+        Path<Long> id = booking.get("bookingId");
+
+        if (after != null) {
+            LocalDateTime afterTime = byStart ? after.getStartTime() : after.getEndTime();
+            predicates.add(cb.or(
+                    cb.lessThan(sortTime, afterTime),
+                    cb.and(cb.equal(sortTime, afterTime), cb.lessThan(id, after.getBookingId()))));
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(sortTime), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Booking> findLastAndNextBookings(List<Long> itemIds, LocalDateTime time) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> bookingIds = entityManager.createNativeQuery(LAST_AND_NEXT_BOOKING_IDS)
+                .setParameter("itemIds", itemIds)
+                .setParameter("time", time)
+                .setParameter("rejected", String.valueOf(Status.REJECTED.ordinal()))
+                .unwrap(NativeQuery.class)
+                .addScalar("booking_id", LongType.INSTANCE)
+                .getResultList();
+
+        if (bookingIds.isEmpty()) {
+            return List.of();
+        }
+
+        return entityManager.createQuery("select b " +
+                        "from Booking as b " +
+                        "join fetch b.user " +
+                        "join fetch b.item as i " +
+                        "join fetch i.user " +
+                        "where b.bookingId in :bookingIds", Booking.class)
+                .setParameter("bookingIds", bookingIds)
+                .getResultList();
+    }
+
+    private static boolean sortsByStart(BookingRole role, BookingState state) {
+        return BookingRole.OWNER.equals(role) && BookingState.ALL.equals(state);
+    }
+
+    private List<Predicate> statePredicates(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                            LocalDateTime time) {
+        Path<LocalDateTime> start = booking.get("startTime");
+        Path<LocalDateTime> end = booking.get("endTime");
+        Path<Status> status = booking.get("status");
+
+        switch (state) {
+            case CURRENT:
+                return List.of(cb.lessThan(start, time), cb.greaterThan(end, time));
+            case PAST:
+                return List.of(cb.lessThan(end, time));
+            case FUTURE:
+                return List.of(cb.greaterThan(start, time));
+            case WAITING:
+                return List.of(cb.greaterThan(start, time), cb.equal(status, Status.WAITING));
+            case REJECTED:
+                return List.of(cb.equal(status, Status.REJECTED));
+            default:
+                return List.of();
+        }
+    }
+}
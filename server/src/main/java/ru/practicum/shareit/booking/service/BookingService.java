@@ -1,14 +1,21 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.RequestBooking;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
+    int MAX_BULK_SIZE = 500;
+
     BookingDto addBooking(BookingDto booking, Long userId);
 
+    List<BookingResultDto> addBookings(List<BookingDto> bookings, Long userId);
+
     BookingDto deleteBooking(Long bookingId, Long userId);
 
     BookingDto getBookingById(Long userId, Long bookingId);
@@ -18,4 +25,6 @@ public interface BookingService {
     List<BookingDto> getBookingForCurrentUser(RequestBooking requestBooking);
 
     List<BookingDto> getBookingForOwner(RequestBooking requestBooking);
+
+    long exportBookings(Long userId, BookingRole role, Consumer<BookingDto> consumer);
 }
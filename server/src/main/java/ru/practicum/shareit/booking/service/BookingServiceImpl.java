@@ -1,82 +1,162 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
+import ru.practicum.shareit.booking.event.BookingEvent;
 import ru.practicum.shareit.booking.exception.*;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.RequestBooking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repostitory.BookingRepository;
 import ru.practicum.shareit.item.exception.ItemNotAvailableException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.common.LongHashMap;
 import ru.practicum.shareit.common.NotOwnerException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.dto.BookingDtoMapper.toBooking;
 import static ru.practicum.shareit.booking.dto.BookingDtoMapper.toDto;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Slf4j
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserExistenceCache userExistenceCache;
+    private final EntityManager entityManager;
 
     @Override
+    @Transactional
     public BookingDto addBooking(BookingDto bookingDto, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
-        Item item = itemRepository.findById(bookingDto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId())
                 .orElseThrow(() -> new ItemNotFoundException(bookingDto.getItemId()));
 
-        if (item.getUser() != null && userId.equals(item.getUser().getUserId())) {
-            throw new BookingCreateException(userId, item.getItemId());
+        checkBooking(bookingDto, userId, item);
+
+        Booking booking = bookingRepository.save(toBooking(bookingDto, user, item));
+        itemRepository.addBookingCount(item.getItemId(), 1);
+        eventPublisher.publishEvent(BookingEvent.saved(booking));
+        log.info("Booking with id: {} saved for item with id: {}", booking.getBookingId(), item.getItemId());
+
+        return toDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingResultDto> addBookings(List<BookingDto> bookingDtos, Long userId) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BULK_SIZE) {
+            throw new BookingValidationException("Bulk must contain from 1 to " + MAX_BULK_SIZE + " bookings");
         }
 
-        if (!item.getAvailable()) {
-            throw new ItemNotAvailableException(item.getItemId());
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        LongHashMap<Item> items = findItems(bookingDtos);
+        LongHashMap<List<BookingDto>> acceptedByItem = new LongHashMap<>(items.size());
+
+        BookingResultDto[] results = new BookingResultDto[bookingDtos.size()];
+        Booking[] accepted = new Booking[bookingDtos.size()];
+        List<Booking> bookings = new ArrayList<>();
+
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+
+            try {
+                checkBookingFields(bookingDto);
+
+                Long itemId = bookingDto.getItemId();
+                Item item = items.get(itemId);
+
+                if (item == null) {
+                    throw new ItemNotFoundException(itemId);
+                }
+
+                checkBooking(bookingDto, userId, item);
+                checkBatchOverlap(acceptedByItem.computeIfAbsent(itemId, id -> new ArrayList<>()), bookingDto);
+
+                Booking booking = toBooking(bookingDto, user, item);
+                booking.setBookingId(null);
+                accepted[i] = booking;
+                bookings.add(booking);
+            } catch (RuntimeException e) {
+                results[i] = BookingResultDto.failure(e.getMessage());
+            }
         }
 
-        if (bookingDto.getStart().isAfter(bookingDto.getEnd()) || bookingDto.getStart().isEqual(bookingDto.getEnd())) {
-            throw new BookingTimeException(bookingDto.getStart(), bookingDto.getEnd());
+        bookingRepository.saveAll(bookings);
+        addBookingCounts(bookings);
+
+        for (int i = 0; i < accepted.length; i++) {
+            if (accepted[i] != null) {
+                eventPublisher.publishEvent(BookingEvent.saved(accepted[i]));
+                results[i] = BookingResultDto.success(toDto(accepted[i]));
+            }
         }
 
-        Booking booking = bookingRepository.save(toBooking(bookingDto, user, item));
-        log.info("Saved: " + booking);
+        log.info("Saved {} of {} bookings for user with id: {}", bookings.size(), bookingDtos.size(), userId);
 
-        return toDto(booking);
+        return Arrays.asList(results);
     }
 
     @Override
     @Transactional
     public BookingDto deleteBooking(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException(bookingId));
 
         if (!userId.equals(booking.getUser().getUserId())) {
             throw new NotOwnerException("User with id: " + userId + " is not the owner Booking with id: " + bookingId);
         }
 
-        bookingRepository.deleteById(bookingId);
-        log.info("Booking with id: " + bookingId + " removed");
+        bookingRepository.delete(booking);
+        itemRepository.addBookingCount(booking.getItem().getItemId(), -1);
+
+        if (Status.APPROVED.equals(booking.getStatus())) {
+            itemRepository.addApprovedBookingCount(booking.getItem().getItemId(), -1);
+        }
+
+        eventPublisher.publishEvent(BookingEvent.removed(booking));
+        log.info("Booking with id: {} removed", bookingId);
 
         return toDto(booking);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDto getBookingById(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException(bookingId));
@@ -85,103 +165,163 @@ public class BookingServiceImpl implements BookingService {
             throw new NotOwnerException("User with id: " + userId + " don't have access to Booking with id: " + bookingId);
         }
 
-        log.info("Found booking: " + booking);
+        log.debug("Found booking with id: {}", bookingId);
 
         return toDto(booking);
     }
 
     @Override
+    @Transactional
     public BookingDto setApprove(Long userId, Long bookingId, Boolean approved) {
+        int updated = bookingRepository.updateWaitingStatus(bookingId, userId,
+                approved ? Status.APPROVED : Status.REJECTED);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException(bookingId));
 
+        if (updated == 0) {
+            if (!userId.equals(booking.getItem().getUser().getUserId())) {
+                throw new NotOwnerException("User with id: " + userId + " is not the owner Item with id: "
+                        + booking.getItem().getItemId());
+            }
 
-        if (!userId.equals(booking.getItem().getUser().getUserId())) {
-            throw new NotOwnerException("User with id: " + userId + " is not the owner Item with id: "
-                    + booking.getItem().getItemId());
+            if (Status.APPROVED.equals(booking.getStatus())) {
+                throw new BookingAlreadyApprovedException(bookingId);
+            }
+
+            throw new BookingNotWaitingException(bookingId, booking.getStatus());
         }
 
-        if (approved && Status.APPROVED.equals(booking.getStatus())) {
-            throw new BookingAlreadyApprovedException(bookingId);
-        } else if (!approved) {
-            booking.setStatus(Status.REJECTED);
-        } else {
-            booking.setStatus(Status.APPROVED);
+        if (approved) {
+            itemRepository.addApprovedBookingCount(booking.getItem().getItemId(), 1);
         }
 
-        bookingRepository.save(booking);
-        log.info("Changed status to " + booking.getStatus() + ", booking with id: " + bookingId);
+        eventPublisher.publishEvent(BookingEvent.saved(booking));
+        log.info("Changed status to {}, booking with id: {}", booking.getStatus(), bookingId);
 
         return toDto(booking);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getBookingForCurrentUser(RequestBooking requestBooking) {
-        Long userId = requestBooking.getUserId();
-        String state = requestBooking.getState().toUpperCase();
-        PageRequest pageRequest = PageRequest.of(requestBooking.getFrom() / requestBooking.getSize(), requestBooking.getSize());
-        LocalDateTime time = LocalDateTime.now();
-        List<Booking> bookings;
-        userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
-
-        switch (state) {
-            case "ALL":
-                bookings = bookingRepository.findAllByUserUserIdOrderByEndTimeDesc(userId, pageRequest);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findAllByUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc(userId, time, time, pageRequest);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(userId, time, pageRequest);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findAllByUserUserIdAndStartTimeIsAfterOrderByEndTimeDesc(userId, time, pageRequest);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findAllByUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(userId, time, Status.valueOf(state), pageRequest);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findAllByUserUserIdAndStatusOrderByEndTimeDesc(userId, Status.valueOf(state), pageRequest);
-                break;
-            default:
-                throw new NotValidStateException("Unknown state: " + state);
-        }
-        return toDto(bookings);
+        return getBookings(requestBooking, BookingRole.BOOKER);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getBookingForOwner(RequestBooking requestBooking) {
+        return getBookings(requestBooking, BookingRole.OWNER);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBookings(Long userId, BookingRole role, Consumer<BookingDto> consumer) {
+        userExistenceCache.checkExists(userId);
+        long exported = 0;
+
+        try (Stream<Booking> bookings = BookingRole.OWNER.equals(role)
+                ? bookingRepository.streamAllByOwner(userId)
+                : bookingRepository.streamAllByBooker(userId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+
+            while (iterator.hasNext()) {
+                consumer.accept(toDto(iterator.next()));
+
+                if (++exported % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        log.info("Exported {} bookings for {} with id: {}", exported, role, userId);
+
+        return exported;
+    }
+
+    private LongHashMap<Item> findItems(List<BookingDto> bookingDtos) {
+        List<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        LongHashMap<Item> items = new LongHashMap<>(itemIds.size());
+        itemRepository.lockAllByItemIds(itemIds);
+
+        for (Item item : itemRepository.findAllWithOwnerByItemIds(itemIds)) {
+            items.put(item.getItemId(), item);
+        }
+
+        return items;
+    }
+
+    private void checkBooking(BookingDto bookingDto, Long userId, Item item) {
+        if (item.getUser() != null && userId.equals(item.getUser().getUserId())) {
+            throw new BookingCreateException(userId, item.getItemId());
+        }
+
+        if (!item.getAvailable()) {
+            throw new ItemNotAvailableException(item.getItemId());
+        }
+
+        if (bookingDto.getStart().isAfter(bookingDto.getEnd()) || bookingDto.getStart().isEqual(bookingDto.getEnd())) {
+            throw new BookingTimeException(bookingDto.getStart(), bookingDto.getEnd());
+        }
+
+        if (bookingIntervalIndex.hasOverlap(item.getItemId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new BookingOverlapException(item.getItemId(), bookingDto.getStart(), bookingDto.getEnd());
+        }
+    }
+
+    private void checkBookingFields(BookingDto bookingDto) {
+        if (bookingDto == null) {
+            throw new BookingValidationException("Booking must not be null");
+        }
+
+        if (bookingDto.getItemId() == null) {
+            throw new BookingValidationException("Item id must not be null");
+        }
+
+        if (bookingDto.getStart() == null) {
+            throw new BookingValidationException("Start time must not be null");
+        }
+
+        if (bookingDto.getEnd() == null) {
+            throw new BookingValidationException("End time must not be null");
+        }
+    }
+
+    private void addBookingCounts(List<Booking> bookings) {
+        bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getItemId(), Collectors.counting()))
+                .forEach(itemRepository::addBookingCount);
+    }
+
+    private void checkBatchOverlap(List<BookingDto> accepted, BookingDto bookingDto) {
+        for (BookingDto other : accepted) {
+            if (other.getStart().isBefore(bookingDto.getEnd()) && other.getEnd().isAfter(bookingDto.getStart())) {
+                throw new BookingOverlapException(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd());
+            }
+        }
+
+        accepted.add(bookingDto);
+    }
+
+    private List<BookingDto> getBookings(RequestBooking requestBooking, BookingRole role) {
         Long userId = requestBooking.getUserId();
         String state = requestBooking.getState().toUpperCase();
-        PageRequest pageRequest = PageRequest.of(requestBooking.getFrom() / requestBooking.getSize(), requestBooking.getSize());
-        LocalDateTime time = LocalDateTime.now();
-        List<Booking> bookings;
-        userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        userExistenceCache.checkExists(userId);
+
+        BookingState bookingState = BookingState.from(state)
+                .orElseThrow(() -> new NotValidStateException("Unknown state: " + state));
+        BookingCursor after = requestBooking.getCursor() == null ? null : BookingCursor.decode(requestBooking.getCursor());
+        PageRequest pageRequest = after == null
+                ? PageRequest.of(requestBooking.getFrom() / requestBooking.getSize(), requestBooking.getSize())
+                : PageRequest.of(0, requestBooking.getSize());
+
+        List<Booking> bookings = bookingRepository.findAllByState(userId, role, bookingState, LocalDateTime.now(),
+                after, pageRequest);
 
-        switch (state) {
-            case "ALL":
-                bookings = bookingRepository.findAllBookingByOwnerId(userId, pageRequest);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findAllByItemUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc(userId, time, time, pageRequest);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findAllByItemUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(userId, time, pageRequest);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findAllByItemUserUserIdAndStartTimeIsAfterOrderByEndTimeDesc(userId, time, pageRequest);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findAllByItemUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(userId, time, Status.valueOf(state), pageRequest);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findAllByItemUserUserIdAndStatusOrderByEndTimeDesc(userId, Status.valueOf(state), pageRequest);
-                break;
-            default:
-                throw new NotValidStateException("Unknown state: " + state);
-        }
         return toDto(bookings);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.common;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class NotValidCursorException extends RuntimeException {
+
+    private static final String MESSAGE = "Cursor: %s is not valid";
+
+    public NotValidCursorException(String cursor) {
+        super(String.format(MESSAGE, cursor));
+        log.info(String.format(MESSAGE, cursor));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+
+@Component
+public class ResourceEtagFilter extends ShallowEtagHeaderFilter {
+
+    private static final Pattern RESOURCE_PATH = Pattern.compile("/items/\\d+");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !RESOURCE_PATH.matcher(UrlPathHelper.defaultInstance.getPathWithinApplication(request)).matches();
+    }
+}
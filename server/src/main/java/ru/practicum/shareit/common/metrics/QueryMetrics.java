@@ -0,0 +1,78 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class QueryMetrics {
+
+    static final String STATEMENTS = "shareit.jdbc.statements";
+    static final String ENTITY_LOADS = "shareit.hibernate.entity.loads";
+    static final String ENTITIES_LOADED = "shareit.hibernate.entities.loaded";
+
+    private static final double[] REQUEST_SLOS = {1, 2, 5, 10, 20, 50, 100};
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<RequestCount> currentRequest = new ThreadLocal<>();
+    private final Map<String, Counter> entityCounters = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void startRequest() {
+        currentRequest.set(new RequestCount());
+    }
+
+    public void finishRequest(String method, String uri) {
+        RequestCount count = currentRequest.get();
+        currentRequest.remove();
+        if (count == null) {
+            return;
+        }
+
+        summary(STATEMENTS, "JDBC statements prepared while handling a request", method, uri)
+                .record(count.statements);
+        summary(ENTITY_LOADS, "Hibernate entities loaded while handling a request", method, uri)
+                .record(count.entityLoads);
+    }
+
+    void statementPrepared() {
+        RequestCount count = currentRequest.get();
+        if (count != null) {
+            count.statements++;
+        }
+    }
+
+    void entityLoaded(String entityName) {
+        entityCounters.computeIfAbsent(entityName, name -> Counter.builder(ENTITIES_LOADED)
+                        .description("Hibernate entities loaded by entity type")
+                        .tag("entity", name)
+                        .register(meterRegistry))
+                .increment();
+
+        RequestCount count = currentRequest.get();
+        if (count != null) {
+            count.entityLoads++;
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(REQUEST_SLOS)
+                .register(meterRegistry);
+    }
+
+    private static class RequestCount {
+        private long statements;
+        private long entityLoads;
+    }
+}
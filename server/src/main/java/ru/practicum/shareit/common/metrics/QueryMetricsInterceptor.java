@@ -0,0 +1,29 @@
+package ru.practicum.shareit.common.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@RequiredArgsConstructor
+public class QueryMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final QueryMetrics queryMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryMetrics.startRequest();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        queryMetrics.finishRequest(request.getMethod(), pattern == null ? UNKNOWN_URI : pattern.toString());
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.handler;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -7,10 +9,13 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.common.NotOwnerException;
+import ru.practicum.shareit.common.NotValidCursorException;
 import ru.practicum.shareit.item.exception.*;
 import ru.practicum.shareit.request.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 
+import javax.validation.ConstraintViolationException;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -20,6 +25,12 @@ public class GlobalExceptionHandler {
         return new AppError(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public AppError handleConstraintViolationException(final ConstraintViolationException e) {
+        return new AppError(e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public AppError handleItemNotAvailableException(final ItemNotAvailableException e) {
@@ -50,6 +61,12 @@ public class GlobalExceptionHandler {
         return new AppError(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public AppError handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+        return new AppError(e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public AppError handleRuntimeException(final RuntimeException e) {
@@ -68,12 +85,36 @@ public class GlobalExceptionHandler {
         return new AppError(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public AppError handleBookingValidationException(final BookingValidationException e) {
+        return new AppError(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public AppError handleNotValidCursorException(final NotValidCursorException e) {
+        return new AppError(e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     public AppError handleBookingAlreadyApprovedException(final BookingAlreadyApprovedException e) {
         return new AppError(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public AppError handleBookingNotWaitingException(final BookingNotWaitingException e) {
+        return new AppError(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(value = HttpStatus.CONFLICT)
+    public AppError handleBookingOverlapException(final BookingOverlapException e) {
+        return new AppError(e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(value = HttpStatus.NOT_FOUND)
     public AppError handleBookingCreateException(final BookingCreateException e) {
@@ -91,4 +132,16 @@ public class GlobalExceptionHandler {
     public AppError handleItemRequestNotFoundException(final ItemRequestNotFoundException e) {
         return new AppError(e.getMessage());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public AppError handleItemImportException(final ItemImportException e) {
+        return new AppError(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public AppError handleJsonProcessingException(final JsonProcessingException e) {
+        return new AppError(e.getOriginalMessage());
+    }
+}
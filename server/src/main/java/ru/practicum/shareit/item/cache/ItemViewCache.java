@@ -0,0 +1,257 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.CommentEvent;
+import ru.practicum.shareit.item.event.ItemBatchEvent;
+import ru.practicum.shareit.item.event.ItemEvent;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class ItemViewCache {
+
+    private static final String CACHE_NAME = "itemView";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final int maxSize;
+    private final Map<Long, Entry> entries;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ItemViewCache(MeterRegistry meterRegistry,
+                         @Value("${shareit.cache.item-view.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                boolean evict = size() > ItemViewCache.this.maxSize;
+
+                if (evict) {
+                    evictions.increment();
+                }
+
+                return evict;
+            }
+        };
+        this.hits = cacheCounter(meterRegistry, "cache.gets", "hit");
+        this.misses = cacheCounter(meterRegistry, "cache.gets", "miss");
+        this.evictions = Counter.builder("cache.evictions")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, ItemViewCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public long generation(Long itemId) {
+        return generations.get(stripe(itemId));
+    }
+
+    public Optional<ItemBookingDto> get(Long itemId, Long userId, LocalDateTime now) {
+        ItemBookingDto view = null;
+
+        synchronized (entries) {
+            Entry entry = entries.get(itemId);
+
+            if (entry != null) {
+                view = entry.viewFor(userId, now);
+            }
+        }
+
+        if (view != null) {
+            view = copy(view);
+        }
+
+        if (view == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+
+        return Optional.ofNullable(view);
+    }
+
+    public void put(ItemBookingDto view, Long userId, long loadedGeneration) {
+        Long itemId = view.getId();
+        boolean owner = userId.equals(view.getUser().getId());
+
+        ItemBookingDto stored = copy(view);
+
+        synchronized (entries) {
+            if (loadedGeneration != generation(itemId)) {
+                return;
+            }
+
+            Entry entry = entries.computeIfAbsent(itemId, id -> new Entry(stored.getUser().getId()));
+
+            if (owner) {
+                entry.ownerView = stored;
+                entry.ownerViewExpiresAt = stored.getNextBooking() == null ? null : stored.getNextBooking().getStart();
+                entry.publicView = withoutBookings(stored);
+            } else {
+                entry.publicView = stored;
+            }
+        }
+    }
+
+    public void evict(Long itemId) {
+        synchronized (entries) {
+            generations.incrementAndGet(stripe(itemId));
+            entries.remove(itemId);
+        }
+    }
+
+    public void evictAll(Collection<Long> itemIds) {
+        synchronized (entries) {
+            for (Long itemId : itemIds) {
+                generations.incrementAndGet(stripe(itemId));
+                entries.remove(itemId);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemEvent(ItemEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemBatchEvent(ItemBatchEvent event) {
+        evictAll(event.getItems().stream()
+                .map(ItemEvent::getItemId)
+                .collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentEvent(CommentEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        if (event.getType() == UserEvent.Type.CREATED) {
+            return;
+        }
+
+        clear();
+        log.info("Item view cache cleared after change of user with id: {}", event.getUserId());
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder(name)
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static int stripe(Long itemId) {
+        return Long.hashCode(itemId) & (GENERATION_STRIPES - 1);
+    }
+
+    private static ItemBookingDto withoutBookings(ItemBookingDto view) {
+        return view.toBuilder()
+                .lastBooking(null)
+                .nextBooking(null)
+                .build();
+    }
+
+    private static ItemBookingDto copy(ItemBookingDto view) {
+        return view.toBuilder()
+                .user(copy(view.getUser()))
+                .lastBooking(copy(view.getLastBooking()))
+                .nextBooking(copy(view.getNextBooking()))
+                .comments(view.getComments() == null ? null : view.getComments().stream()
+                        .map(ItemViewCache::copy)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static UserDto copy(UserDto user) {
+        return user == null ? null : new UserDto(user.getId(), user.getName(), user.getEmail());
+    }
+
+    private static ItemDto copy(ItemDto item) {
+        return item == null ? null : new ItemDto(item.getId(), item.getName(), copy(item.getUser()),
+                item.getDescription(), item.getAvailable(), item.getRequestId());
+    }
+
+    private static BookingDto copy(BookingDto booking) {
+        return booking == null ? null : new BookingDto(booking.getId(), copy(booking.getBooker()),
+                booking.getBookerId(), copy(booking.getItem()), booking.getItemId(), booking.getItemName(),
+                booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+
+    private static CommentDto copy(CommentDto comment) {
+        return new CommentDto(comment.getId(), copy(comment.getAuthor()), comment.getAuthorName(),
+                comment.getAuthorId(), comment.getRating(), comment.getText(), comment.getCreated(),
+                copy(comment.getItem()), comment.getItemId());
+    }
+
+    private static class Entry {
+
+        private final Long ownerId;
+        private ItemBookingDto publicView;
+        private ItemBookingDto ownerView;
+        private LocalDateTime ownerViewExpiresAt;
+
+        private Entry(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        private ItemBookingDto viewFor(Long userId, LocalDateTime now) {
+            if (!ownerId.equals(userId)) {
+                return publicView;
+            }
+
+            if (ownerViewExpiresAt != null && !now.isBefore(ownerViewExpiresAt)) {
+                ownerView = null;
+                ownerViewExpiresAt = null;
+            }
+
+            return ownerView;
+        }
+    }
+}
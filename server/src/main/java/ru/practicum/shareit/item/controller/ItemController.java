@@ -1,13 +1,19 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.model.RequestItem;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -16,6 +22,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ObjectMapper mapper;
 
     @GetMapping("/{itemId}")
     public ItemBookingDto getItemById(@PathVariable("itemId") Long itemId,
@@ -43,6 +50,14 @@ public class ItemController {
         return itemService.addItem(item, userId);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ItemImportResultDto importItems(InputStream body,
+                                           @RequestHeader("X-Sharer-User-Id") Long userId) throws IOException {
+        try (MappingIterator<ItemDto> items = mapper.readerFor(ItemDto.class).readValues(body)) {
+            return itemService.importItems(items, userId);
+        }
+    }
+
     @DeleteMapping("/{itemId}")
     public ItemDto deleteItem(@PathVariable Long itemId,
                            @RequestHeader("X-Sharer-User-Id") Long userId) {
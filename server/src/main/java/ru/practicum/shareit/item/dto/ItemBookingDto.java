@@ -12,7 +12,7 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ItemBookingDto {
 
     private Long id;
@@ -24,6 +24,10 @@ public class ItemBookingDto {
     private BookingDto nextBooking;
     private List<CommentDto> comments;
     private Long requestId;
+    private long bookingCount;
+    private long approvedBookingCount;
+    private long commentCount;
+    private Double rating;
 
     public ItemBookingDto(Long id, String name, UserDto user, String description, Boolean available) {
         this.id = id;
@@ -17,4 +17,9 @@ public class ItemDto {
     private String description;
     private Boolean available;
     private Long requestId;
+
+    public ItemDto(Long id, String name, Long userId, String userName, String userEmail, String description,
+                   Boolean available, Long requestId) {
+        this(id, name, new UserDto(userId, userName, userEmail), description, available, requestId);
+    }
 }
@@ -59,6 +59,12 @@ public class ItemDtoMapper {
         Boolean available = item.getAvailable();
         Long itemRequestId = item.getRequestId();
 
-        return new ItemBookingDto(itemId, name, user, description, available, itemRequestId);
+        ItemBookingDto itemDto = new ItemBookingDto(itemId, name, user, description, available, itemRequestId);
+        itemDto.setBookingCount(item.getBookingCount());
+        itemDto.setApprovedBookingCount(item.getApprovedBookingCount());
+        itemDto.setCommentCount(item.getCommentCount());
+        itemDto.setRating(item.getRatingCount() == 0 ? null : (double) item.getRatingSum() / item.getRatingCount());
+
+        return itemDto;
     }
 }
\ No newline at end of file
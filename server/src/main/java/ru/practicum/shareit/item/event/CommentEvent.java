@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Comment;
+
+@Getter
+@AllArgsConstructor
+public class CommentEvent {
+
+    private final Long commentId;
+    private final Long itemId;
+
+    public static CommentEvent saved(Comment comment) {
+        return new CommentEvent(comment.getCommentId(), comment.getItem().getItemId());
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class ItemBatchEvent {
+
+    private final List<ItemEvent> items;
+
+    public static ItemBatchEvent saved(List<Item> items) {
+        return new ItemBatchEvent(items.stream()
+                .map(ItemEvent::saved)
+                .collect(Collectors.toList()));
+    }
+}
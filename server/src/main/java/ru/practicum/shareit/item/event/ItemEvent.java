@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@AllArgsConstructor
+public class ItemEvent {
+
+    private final Long itemId;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final Long requestId;
+    private final boolean removed;
+
+    public static ItemEvent saved(Item item) {
+        return new ItemEvent(item.getItemId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequestId(), false);
+    }
+
+    public static ItemEvent removed(Item item) {
+        return new ItemEvent(item.getItemId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequestId(), true);
+    }
+}
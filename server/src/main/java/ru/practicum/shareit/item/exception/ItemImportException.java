@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ItemImportException extends RuntimeException {
+
+    private static final String MESSAGE = "Import stopped at entry %d, %d items imported: %s";
+
+    public ItemImportException(long entry, long imported, String reason) {
+        super(String.format(MESSAGE, entry, imported, reason));
+        log.info(String.format(MESSAGE, entry, imported, reason));
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ItemDocument {
+
+    private Long itemId;
+    private String name;
+    private String description;
+    private Boolean available;
+}
@@ -0,0 +1,263 @@
+package ru.practicum.shareit.item.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemBatchEvent;
+import ru.practicum.shareit.item.event.ItemEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex implements SmartInitializingSingleton {
+
+    private static final String TOKEN_SEPARATOR = "[^\\p{L}\\p{N}]+";
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 1;
+    private static final int POSTING_LOCKS = 64;
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+    private final Object[] postingLocks = newLocks();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        postings.clear();
+        items.clear();
+
+        List<ItemDocument> documents = itemRepository.findAllDocuments();
+        documents.forEach(this::add);
+
+        log.info("Item search index rebuilt with {} items", documents.size());
+    }
+
+    public List<Long> search(String text, boolean availableOnly, int offset, int limit) {
+        Set<String> queryTokens = tokenize(text);
+
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> candidates = null;
+
+        for (String queryToken : queryTokens) {
+            Set<Long> matches = findBySubstring(queryToken);
+
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return candidates.stream()
+                .map(items::get)
+                .filter(item -> item != null && (!availableOnly || item.isAvailable()))
+                .map(item -> new ScoredItem(item.getItemId(), score(item, queryTokens)))
+                .sorted(Comparator.comparingInt(ScoredItem::getScore).reversed()
+                        .thenComparing(ScoredItem::getItemId))
+                .skip(offset)
+                .limit(limit)
+                .map(ScoredItem::getItemId)
+                .collect(Collectors.toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemEvent(ItemEvent event) {
+        remove(event.getItemId());
+
+        if (!event.isRemoved()) {
+            add(new ItemDocument(event.getItemId(), event.getName(), event.getDescription(), event.getAvailable()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemBatchEvent(ItemBatchEvent event) {
+        for (ItemEvent item : event.getItems()) {
+            remove(item.getItemId());
+            add(new ItemDocument(item.getItemId(), item.getName(), item.getDescription(), item.getAvailable()));
+        }
+
+        log.info("Item search index updated with {} items", event.getItems().size());
+    }
+
+    private void add(ItemDocument document) {
+        IndexedItem item = new IndexedItem(document.getItemId(), tokenize(document.getName()),
+                tokenize(document.getDescription()), Boolean.TRUE.equals(document.getAvailable()));
+
+        items.put(item.getItemId(), item);
+        item.grams().forEach(gram -> {
+            synchronized (lockFor(gram)) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(item.getItemId());
+            }
+        });
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem item = items.remove(itemId);
+
+        if (item == null) {
+            return;
+        }
+
+        item.grams().forEach(gram -> {
+            synchronized (lockFor(gram)) {
+                Set<Long> ids = postings.get(gram);
+
+                if (ids != null && ids.remove(itemId) && ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        });
+    }
+
+    private Object lockFor(String gram) {
+        return postingLocks[gram.hashCode() & (POSTING_LOCKS - 1)];
+    }
+
+    private Set<Long> findBySubstring(String text) {
+        if (text.length() <= GRAM_LENGTH) {
+            return new HashSet<>(postings.getOrDefault(text, Set.of()));
+        }
+
+        Set<Long> candidates = null;
+
+        for (String gram : grams(text, GRAM_LENGTH)) {
+            Set<Long> ids = postings.getOrDefault(gram, Set.of());
+
+            if (candidates == null) {
+                candidates = new HashSet<>(ids);
+            } else {
+                candidates.retainAll(ids);
+            }
+
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+        }
+
+        candidates.removeIf(itemId -> {
+            IndexedItem item = items.get(itemId);
+
+            return item == null || !item.contains(text);
+        });
+
+        return candidates;
+    }
+
+    private int score(IndexedItem item, Set<String> queryTokens) {
+        int score = 0;
+
+        for (String queryToken : queryTokens) {
+            score += NAME_WEIGHT * matchScore(item.getNameTokens(), queryToken);
+            score += DESCRIPTION_WEIGHT * matchScore(item.getDescriptionTokens(), queryToken);
+        }
+
+        return score;
+    }
+
+    private int matchScore(Set<String> tokens, String queryToken) {
+        if (tokens.contains(queryToken)) {
+            return 1 + EXACT_MATCH_BONUS;
+        }
+
+        for (String token : tokens) {
+            if (token.contains(queryToken)) {
+                return 1;
+            }
+        }
+
+        return 0;
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[POSTING_LOCKS];
+        Arrays.setAll(locks, i -> new Object());
+
+        return locks;
+    }
+
+    private static Set<String> grams(String token, int length) {
+        Set<String> grams = new LinkedHashSet<>();
+
+        for (int i = 0; i + length <= token.length(); i++) {
+            grams.add(token.substring(i, i + length));
+        }
+
+        return grams;
+    }
+
+    private static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split(TOKEN_SEPARATOR))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class IndexedItem {
+
+        private final Long itemId;
+        private final Set<String> nameTokens;
+        private final Set<String> descriptionTokens;
+        private final boolean available;
+
+        private Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+
+            for (Set<String> tokens : List.of(nameTokens, descriptionTokens)) {
+                for (String token : tokens) {
+                    for (int length = 1; length <= GRAM_LENGTH; length++) {
+                        grams.addAll(ItemSearchIndex.grams(token, length));
+                    }
+                }
+            }
+
+            return grams;
+        }
+
+        private boolean contains(String text) {
+            for (Set<String> tokens : List.of(nameTokens, descriptionTokens)) {
+                for (String token : tokens) {
+                    if (token.contains(text)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ScoredItem {
+
+        private final Long itemId;
+        private final int score;
+    }
+}
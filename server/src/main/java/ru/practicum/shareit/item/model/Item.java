@@ -15,7 +15,8 @@ import javax.persistence.*;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long itemId;
 
     @Column
@@ -33,4 +34,28 @@ public class Item {
 
     @Column
     private Long requestId;
+
+    @Column(insertable = false, updatable = false)
+    private long bookingCount;
+
+    @Column(insertable = false, updatable = false)
+    private long approvedBookingCount;
+
+    @Column(insertable = false, updatable = false)
+    private long commentCount;
+
+    @Column(insertable = false, updatable = false)
+    private long ratingSum;
+
+    @Column(insertable = false, updatable = false)
+    private long ratingCount;
+
+    public Item(Long itemId, String name, User user, String description, Boolean available, Long requestId) {
+        this.itemId = itemId;
+        this.name = name;
+        this.user = user;
+        this.description = description;
+        this.available = available;
+        this.requestId = requestId;
+    }
 }
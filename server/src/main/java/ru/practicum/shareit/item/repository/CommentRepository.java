@@ -9,11 +9,13 @@ import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("select c " +
+            "from Comment as c " +
+            "where c.item.itemId = ?1")
     List<Comment> findAllCommentByItemItemId(Long itemId);
 
     @Query("select c " +
             "from Comment as c " +
-            "join c.item as i " +
-            "where i in ?1")
+            "where c.item in ?1")
     List<Comment> findAllByItems(List<Item> items);
 }
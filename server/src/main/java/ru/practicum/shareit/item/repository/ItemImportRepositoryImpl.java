@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class ItemImportRepositoryImpl implements ItemImportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public List<Item> saveBatch(List<Item> items) {
+        items.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+
+        return items;
+    }
+}
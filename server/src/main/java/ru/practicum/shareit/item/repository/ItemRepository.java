@@ -2,24 +2,87 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.PageRequest;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.index.ItemDocument;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemResponseDto;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemImportRepository {
 
-    List<Item> findAllByUserUserId(Long userId, PageRequest pageRequest);
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<Item> findById(Long itemId);
 
-    List<Item> findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(boolean available,
-                                                                                              String description,
-                                                                                              String name,
-                                                                                              PageRequest pageRequest);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item as i " +
+            "where i.itemId = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
 
-    List<Item> findAllByRequestId(Long requestId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item as i " +
+            "where i.itemId in ?1 " +
+            "order by i.itemId")
+    List<Item> lockAllByItemIds(List<Long> itemIds);
 
     @Query("select i from Item as i " +
+            "join fetch i.user " +
+            "where i.user.userId = ?1")
+    List<Item> findAllByUserUserId(Long userId, PageRequest pageRequest);
+
+    @Query("select i from Item as i " +
+            "join fetch i.user " +
+            "where i.itemId in ?1")
+    List<Item> findAllWithOwnerByItemIds(List<Long> itemIds);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.itemId, i.name, u.userId, u.name, u.email, " +
+            "i.description, i.available, i.requestId) " +
+            "from Item as i " +
+            "join i.user as u " +
+            "where i.itemId in ?1")
+    List<ItemDto> findAllDtosByItemIds(List<Long> itemIds);
+
+    @Query("select new ru.practicum.shareit.item.index.ItemDocument(i.itemId, i.name, i.description, i.available) " +
+            "from Item as i")
+    List<ItemDocument> findAllDocuments();
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemResponseDto(i.itemId, i.name, i.description, " +
+            "i.requestId, i.available) " +
+            "from Item as i " +
+            "where i.requestId = ?1")
+    List<ItemResponseDto> findAllResponsesByRequestId(Long requestId);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemResponseDto(i.itemId, i.name, i.description, " +
+            "i.requestId, i.available) " +
+            "from Item as i " +
             "where i.requestId in ?1")
-    List<Item> findAllByRequests(List<Long> requests);
+    List<ItemResponseDto> findAllResponsesByRequests(List<Long> requests);
+
+    @Modifying
+    @Query("update Item as i " +
+            "set i.bookingCount = i.bookingCount + ?2 " +
+            "where i.itemId = ?1")
+    int addBookingCount(Long itemId, long delta);
+
+    @Modifying
+    @Query("update Item as i " +
+            "set i.approvedBookingCount = i.approvedBookingCount + ?2 " +
+            "where i.itemId = ?1")
+    int addApprovedBookingCount(Long itemId, long delta);
+
+    @Modifying
+    @Query("update Item as i " +
+            "set i.commentCount = i.commentCount + 1, " +
+            "i.ratingSum = i.ratingSum + ?2, " +
+            "i.ratingCount = i.ratingCount + ?3 " +
+            "where i.itemId = ?1")
+    int addComment(Long itemId, long rating, long rated);
 }
@@ -3,8 +3,10 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.model.RequestItem;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface ItemService {
@@ -17,6 +19,8 @@ public interface ItemService {
 
     ItemDto addItem(ItemDto item, Long userId);
 
+    ItemImportResultDto importItems(Iterator<ItemDto> items, Long userId);
+
     ItemDto deleteItem(Long itemId, Long userId);
 
     List<ItemDto> searchItem(RequestItem item);
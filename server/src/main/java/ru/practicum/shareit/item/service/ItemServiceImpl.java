@@ -1,97 +1,126 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repostitory.BookingRepository;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoMapper;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.event.CommentEvent;
+import ru.practicum.shareit.item.event.ItemBatchEvent;
+import ru.practicum.shareit.item.event.ItemEvent;
 import ru.practicum.shareit.item.exception.CommentCreateException;
+import ru.practicum.shareit.item.exception.ItemImportException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.common.NotOwnerException;
+import ru.practicum.shareit.item.index.ItemSearchIndex;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.RequestItem;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.item.dto.ItemDtoMapper.*;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Slf4j
 public class ItemServiceImpl implements ItemService {
 
+    private static final int IMPORT_BATCH_SIZE = 500;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemViewCache itemViewCache;
+    private final UserExistenceCache userExistenceCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public ItemBookingDto getItemById(Long id, Long userId) {
+        long generation = itemViewCache.generation(id);
+        Optional<ItemBookingDto> cachedView = itemViewCache.get(id, userId, LocalDateTime.now());
+
+        if (cachedView.isPresent()) {
+            log.debug("Found item with id: {} in cache", id);
+
+            return cachedView.get();
+        }
+
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ItemNotFoundException(id));
-        List<Booking> bookings = bookingRepository.findAllByItemItemId(id);
         List<CommentDto> comments = CommentDtoMapper.toDto(commentRepository.findAllCommentByItemItemId(id));
         ItemBookingDto itemDto = fromItem(item);
 
-        if (userId.equals(item.getUser().getUserId()) && !bookings.isEmpty()) {
-            findLastAndNextBooking(itemDto, bookings);
+        if (userId.equals(item.getUser().getUserId())) {
+            setLastAndNextBookings(Map.of(id, itemDto));
         }
         itemDto.setComments(comments);
+        itemViewCache.put(itemDto, userId, generation);
 
-        log.info("Found item: " + item);
+        log.debug("Found item with id: {}", id);
 
         return itemDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemBookingDto> getItemsForUser(RequestItem item) {
         Long userId = item.getUserId();
         PageRequest pageRequest = PageRequest.of(item.getFrom() / item.getSize(), item.getSize());
 
         List<Item> items = itemRepository.findAllByUserUserId(userId, pageRequest);
-        List<Booking> bookings = bookingRepository.findAllByItems(items);
-        List<CommentDto> comments = CommentDtoMapper.toDto(commentRepository.findAllByItems(items));
-        List<ItemBookingDto> itemDtos = new ArrayList<>();
 
-        for (Item currentItem : items) {
-            Long itemId = currentItem.getItemId();
-            ItemBookingDto itemDto = fromItem(currentItem);
-
-            List<Booking> bookingsForItem = bookings.stream()
-                    .filter(booking -> itemId.equals(booking.getItem().getItemId()))
-                    .collect(Collectors.toList());
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-            List<CommentDto> commentsForItem = comments.stream()
-                    .filter(commentDto -> itemId.equals(commentDto.getItemId()))
-                    .collect(Collectors.toList());
+        Map<Long, List<CommentDto>> comments = CommentDtoMapper.toDto(commentRepository.findAllByItems(items)).stream()
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
+        Map<Long, ItemBookingDto> itemDtos = new LinkedHashMap<>();
 
-            if (userId.equals(currentItem.getUser().getUserId()) && !bookings.isEmpty()) {
-                findLastAndNextBooking(itemDto, bookingsForItem);
-            }
-
-            itemDto.setComments(commentsForItem);
-            itemDtos.add(itemDto);
+        for (Item currentItem : items) {
+            ItemBookingDto itemDto = fromItem(currentItem);
+            itemDto.setComments(comments.getOrDefault(currentItem.getItemId(), new ArrayList<>()));
+            itemDtos.put(currentItem.getItemId(), itemDto);
         }
 
-        log.info("Found items: " + items);
+        setLastAndNextBookings(itemDtos);
 
-        return itemDtos;
+        log.debug("Found {} items for user with id: {}", items.size(), userId);
+
+        return new ArrayList<>(itemDtos.values());
     }
 
     @Override
@@ -99,14 +128,14 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(itemId));
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        userExistenceCache.checkExists(userId);
 
-        checkOwner(user, item);
+        checkOwner(userId, item);
         update(item, itemDto);
         itemDto.setId(itemId);
         itemRepository.save(item);
-        log.info("Item with id: " + itemId + " updated");
+        eventPublisher.publishEvent(ItemEvent.saved(item));
+        log.info("Item with id: {} updated", itemId);
 
         return toDto(item);
     }
@@ -117,45 +146,105 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         Item savedItem = itemRepository.save(toItem(item, user));
-        log.info("Item with id: " + savedItem.getItemId() + " saved");
+        eventPublisher.publishEvent(ItemEvent.saved(savedItem));
+        log.info("Item with id: {} saved", savedItem.getItemId());
 
         return toDto(savedItem);
     }
 
     @Override
-    public ItemDto deleteItem(Long itemId, Long userId) {
+    public ItemImportResultDto importItems(Iterator<ItemDto> items, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
+
+        List<Item> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<ItemImportErrorDto> errors = new ArrayList<>();
+        long entry = 0;
+        long imported = 0;
+
+        while (true) {
+            ItemDto itemDto;
+
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                itemDto = items.next();
+            } catch (RuntimeException e) {
+                throw new ItemImportException(entry, imported, e.getMessage());
+            }
+
+            String error = validateForImport(itemDto);
+
+            if (error != null) {
+                errors.add(new ItemImportErrorDto(entry, error));
+            } else {
+                Item item = toItem(itemDto, user);
+                item.setItemId(null);
+                batch.add(item);
+            }
+            entry++;
+
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                imported += saveBatch(batch);
+                batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            imported += saveBatch(batch);
+        }
+
+        log.info("Imported {} of {} items for user with id: {}", imported, entry, userId);
+
+        return new ItemImportResultDto(imported, errors);
+    }
+
+    @Override
+    public ItemDto deleteItem(Long itemId, Long userId) {
+        userExistenceCache.checkExists(userId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(itemId));
 
-        checkOwner(user, item);
+        checkOwner(userId, item);
 
         itemRepository.delete(item);
-        log.info("Item with id: " + itemId + " removed");
+        eventPublisher.publishEvent(ItemEvent.removed(item));
+        log.info("Item with id: {} removed", itemId);
 
         return toDto(item);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> searchItem(RequestItem item) {
         String text = item.getText();
-        PageRequest pageRequest = PageRequest.of(item.getFrom() / item.getSize(), item.getSize());
+        int offset = item.getFrom() / item.getSize() * item.getSize();
 
         if (text.isBlank()) {
             return new ArrayList<>();
         }
 
-        List<Item> items = itemRepository
-                .findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(true,
-                        text, text, pageRequest);
+        List<Long> itemIds = itemSearchIndex.search(text, true, offset, item.getSize());
 
-        log.info("Found items: " + items);
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ItemDto> itemsById = itemRepository.findAllDtosByItemIds(itemIds).stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        List<ItemDto> items = itemIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        log.debug("Found {} items by text search", items.size());
 
-        return toDto(items);
+        return items;
     }
 
     @Override
+    @Transactional
     public CommentDto addComment(CommentDto commentDto, Long userId, Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(itemId));
@@ -167,24 +256,52 @@ public class ItemServiceImpl implements ItemService {
             throw new CommentCreateException("The Owner of the item can not add comment");
         }
 
-        List<Booking> bookings = bookingRepository.findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(userId, LocalDateTime.now());
-
-        bookings.stream()
-                .filter((booking) -> userId.equals(booking.getUser().getUserId()))
-                .findFirst()
-                .orElseThrow(() -> new CommentCreateException("User with id: " + userId + " did not rent the item with id: " + itemId));
+        if (!bookingRepository.existsByUserUserIdAndItemItemIdAndStatusAndEndTimeBefore(userId, itemId,
+                Status.APPROVED, LocalDateTime.now())) {
+            throw new CommentCreateException("User with id: " + userId + " did not rent the item with id: " + itemId);
+        }
 
         commentDto.setCreated(LocalDateTime.now());
         Comment comment = commentRepository.save(CommentDtoMapper.toComment(commentDto, author, item));
+        boolean rated = comment.getRating() != null && comment.getRating() > 0;
+        itemRepository.addComment(itemId, rated ? comment.getRating() : 0, rated ? 1 : 0);
+        eventPublisher.publishEvent(CommentEvent.saved(comment));
 
-        log.info("Comment with id: " + comment.getCommentId() + " saved");
+        log.info("Comment with id: {} saved", comment.getCommentId());
 
         return CommentDtoMapper.toDto(comment);
     }
 
-    private void checkOwner(User user, Item item) {
-        if (!item.getUser().getUserId().equals(user.getUserId())) {
-            throw new NotOwnerException("User with id: " + user.getUserId() + " is not the owner Item with id: " + item.getItemId());
+    private int saveBatch(List<Item> batch) {
+        List<Item> saved = itemRepository.saveBatch(batch);
+        eventPublisher.publishEvent(ItemBatchEvent.saved(saved));
+
+        return saved.size();
+    }
+
+    private String validateForImport(ItemDto itemDto) {
+        if (itemDto == null) {
+            return "Item is empty";
+        }
+
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Name is blank";
+        }
+
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Description is blank";
+        }
+
+        if (itemDto.getAvailable() == null) {
+            return "Available is not set";
+        }
+
+        return null;
+    }
+
+    private void checkOwner(Long userId, Item item) {
+        if (!item.getUser().getUserId().equals(userId)) {
+            throw new NotOwnerException("User with id: " + userId + " is not the owner Item with id: " + item.getItemId());
         }
     }
 
@@ -204,18 +321,18 @@ public class ItemServiceImpl implements ItemService {
         return item;
     }
 
-    private void findLastAndNextBooking(ItemBookingDto item, List<Booking> bookings) {
-        Booking lastBooking = bookings.stream()
-                .filter(booking -> booking.getStartTime().isBefore(LocalDateTime.now()) && !Status.REJECTED.equals(booking.getStatus()))
-                .min(Booking::compareTo)
-                .orElse(null);
+    private void setLastAndNextBookings(Map<Long, ItemBookingDto> items) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(new ArrayList<>(items.keySet()), now);
 
-        Booking nextBooking = bookings.stream()
-                .filter((booking) -> booking.getStartTime().isAfter(LocalDateTime.now()) && !Status.REJECTED.equals(booking.getStatus()))
-                .max(Booking::compareTo)
-                .orElse(null);
+        for (Booking booking : bookings) {
+            ItemBookingDto item = items.get(booking.getItem().getItemId());
 
-        item.setLastBooking(lastBooking == null ? null : BookingDtoMapper.toDto(lastBooking));
-        item.setNextBooking(nextBooking == null ? null : BookingDtoMapper.toDto(nextBooking));
+            if (booking.getStartTime().isBefore(now)) {
+                item.setLastBooking(BookingDtoMapper.toDto(booking));
+            } else {
+                item.setNextBooking(BookingDtoMapper.toDto(booking));
+            }
+        }
     }
-}
\ No newline at end of file
+}
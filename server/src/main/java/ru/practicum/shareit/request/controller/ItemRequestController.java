@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.GetItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -35,7 +36,12 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestDto getItemRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long requestId) {
+                                             @PathVariable Long requestId,
+                                             WebRequest request) {
+        if (request.checkNotModified(String.valueOf(itemRequestService.getItemRequestVersion(requestId, userId)))) {
+            return null;
+        }
+
         return itemRequestService.getItemRequestById(requestId, userId);
     }
 
@@ -28,4 +28,14 @@ public class ItemRequest {
 
     @Column
     private LocalDateTime timeOfCreation;
+
+    @Version
+    private long version;
+
+    public ItemRequest(Long itemRequestId, String description, User user, LocalDateTime timeOfCreation) {
+        this.itemRequestId = itemRequestId;
+        this.description = description;
+        this.user = user;
+        this.timeOfCreation = timeOfCreation;
+    }
 }
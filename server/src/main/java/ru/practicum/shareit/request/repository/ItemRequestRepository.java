@@ -2,13 +2,43 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> getItemRequestsByUserUserId(Long userId);
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.itemRequestId, r.description, " +
+            "r.user.userId, r.timeOfCreation) " +
+            "from ItemRequest as r " +
+            "where r.itemRequestId = ?1")
+    Optional<ItemRequestDto> findDtoById(Long itemRequestId);
 
-    List<ItemRequest> findAllByUserUserIdNotLike(Long userId, Pageable pageable);
+    @Query("select r.version " +
+            "from ItemRequest as r " +
+            "where r.itemRequestId = ?1")
+    Optional<Long> findVersionById(Long itemRequestId);
+
+    @Modifying
+    @Query("update ItemRequest as r " +
+            "set r.version = r.version + 1 " +
+            "where r.itemRequestId in ?1")
+    int incrementVersions(Collection<Long> itemRequestIds);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.itemRequestId, r.description, " +
+            "r.user.userId, r.timeOfCreation) " +
+            "from ItemRequest as r " +
+            "where r.user.userId = ?1")
+    List<ItemRequestDto> findAllDtosByUserId(Long userId);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.itemRequestId, r.description, " +
+            "r.user.userId, r.timeOfCreation) " +
+            "from ItemRequest as r " +
+            "where r.user.userId <> ?1")
+    List<ItemRequestDto> findAllDtosByUserIdNot(Long userId, Pageable pageable);
 }
@@ -13,6 +13,8 @@ public interface ItemRequestService {
 
     ItemRequestDto getItemRequestById(Long id, Long userId);
 
+    long getItemRequestVersion(Long id, Long userId);
+
     ItemRequestDto deleteItemRequest(Long id, Long userId);
 
     List<ItemRequestDto> getItemRequests(GetItemRequest request);
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.LongHashMap;
 import ru.practicum.shareit.common.NotOwnerException;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
@@ -13,11 +15,12 @@ import ru.practicum.shareit.request.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.request.model.GetItemRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.exception.UserNotFoundException;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,35 +29,38 @@ import static ru.practicum.shareit.request.dto.ItemRequestDtoMapper.toItemReques
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceCache userExistenceCache;
 
     @Override
     public ItemRequestDto addItemRequest(ItemRequestDto itemRequestDto, Long userId) {
-        User user = checkExistsUser(userId);
+        userExistenceCache.checkExists(userId);
+        User user = userRepository.getReferenceById(userId);
 
         itemRequestDto.setCreated(LocalDateTime.now());
         ItemRequest itemRequest = itemRequestRepository.save(toItemRequest(itemRequestDto, user));
-        log.info("Item request with id: " + itemRequest.getItemRequestId() + " saved");
+        log.info("Item request with id: {} saved", itemRequest.getItemRequestId());
 
         return toDto(itemRequest);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getItemRequestsForUser(Long userId) {
-        checkExistsUser(userId);
-        List<ItemRequest> requests = itemRequestRepository.getItemRequestsByUserUserId(userId);
-        List<ItemRequestDto> requestDtos = toDto(requests);
+        userExistenceCache.checkExists(userId);
+        List<ItemRequestDto> requestDtos = itemRequestRepository.findAllDtosByUserId(userId);
 
-        List<Item> items = itemRepository.findAllByRequests(requests.stream()
-                .map(ItemRequest::getItemRequestId)
+        List<ItemResponseDto> responses = itemRepository.findAllResponsesByRequests(requestDtos.stream()
+                .map(ItemRequestDto::getId)
                 .collect(Collectors.toList()));
 
-        addResponsesToRequests(requestDtos, items);
+        addResponsesToRequests(requestDtos, responses);
 
         return requestDtos.stream()
                 .sorted(ItemRequestDto::compareTo)
@@ -62,76 +68,75 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getItemRequestById(Long id, Long userId) {
-        checkExistsUser(userId);
-        ItemRequest itemRequest = itemRequestRepository.findById(id)
+        userExistenceCache.checkExists(userId);
+        ItemRequestDto itemRequestDto = itemRequestRepository.findDtoById(id)
                 .orElseThrow(() -> new ItemRequestNotFoundException(id));
-        List<Item> items = itemRepository.findAllByRequestId(id);
+        itemRequestDto.setItems(itemRepository.findAllResponsesByRequestId(id));
 
-        ItemRequestDto itemRequestDto = toDto(itemRequest);
+        log.debug("Found item request with id: {} and {} items", id, itemRequestDto.getItems().size());
 
-        List<ItemResponseDto> response = items.stream()
-                .map(item -> new ItemResponseDto(item.getItemId(), item.getName(), item.getDescription(),
-                        item.getRequestId(), item.getAvailable()))
-                .collect(Collectors.toList());
-        itemRequestDto.setItems(response);
+        return itemRequestDto;
+    }
 
-        log.info("Item request with id: " + id + ": " + itemRequest);
+    @Override
+    @Transactional(readOnly = true)
+    public long getItemRequestVersion(Long id, Long userId) {
+        userExistenceCache.checkExists(userId);
 
-        return itemRequestDto;
+        return itemRequestRepository.findVersionById(id)
+                .orElseThrow(() -> new ItemRequestNotFoundException(id));
     }
 
     @Override
     public ItemRequestDto deleteItemRequest(Long id, Long userId) {
         ItemRequest itemRequest = itemRequestRepository.findById(id)
                 .orElseThrow(() -> new ItemRequestNotFoundException(id));
-        User user = checkExistsUser(userId);
-        checkAccess(itemRequest, user);
+        userExistenceCache.checkExists(userId);
+        checkAccess(itemRequest, userId);
 
-        log.info("Item request with id: " + id + " deleted");
+        log.info("Item request with id: {} deleted", id);
 
         return toDto(itemRequest);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getItemRequests(GetItemRequest request) {
-        User user = checkExistsUser(request.getUserId());
+        Long userId = request.getUserId();
+        userExistenceCache.checkExists(userId);
         PageRequest pageable = PageRequest.of(request.getFrom(), request.getSize());
 
-        List<ItemRequest> requests = itemRequestRepository.findAllByUserUserIdNotLike(user.getUserId(), pageable);
-        List<ItemRequestDto> itemRequestDtos = toDto(requests);
+        List<ItemRequestDto> itemRequestDtos = itemRequestRepository.findAllDtosByUserIdNot(userId, pageable);
 
-        List<Item> items = itemRepository.findAllByRequests(requests.stream()
-                .map(ItemRequest::getItemRequestId)
+        List<ItemResponseDto> responses = itemRepository.findAllResponsesByRequests(itemRequestDtos.stream()
+                .map(ItemRequestDto::getId)
                 .collect(Collectors.toList()));
 
-        addResponsesToRequests(itemRequestDtos, items);
+        addResponsesToRequests(itemRequestDtos, responses);
 
-        log.info("Found item requests: " + requests);
+        log.debug("Found {} item requests for user with id: {}", itemRequestDtos.size(), userId);
 
         return itemRequestDtos;
     }
 
-    private User checkExistsUser(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+    private void checkAccess(ItemRequest itemRequest, Long userId) {
+        if (!itemRequest.getUser().getUserId().equals(userId)) {
+            throw new NotOwnerException("User with id + " + userId + " not owner request with id: " + itemRequest.getItemRequestId());
+        }
     }
 
-    private void checkAccess(ItemRequest itemRequest, User user) {
-        if (!itemRequest.getUser().getUserId().equals(user.getUserId())) {
-            throw new NotOwnerException("User with id + " + user.getUserId() + " not owner request with id: " + itemRequest.getItemRequestId());
+    void addResponsesToRequests(List<ItemRequestDto> itemRequestDtos, List<ItemResponseDto> responses) {
+        LongHashMap<List<ItemResponseDto>> responsesByRequest = new LongHashMap<>(itemRequestDtos.size());
+        for (ItemResponseDto response : responses) {
+            responsesByRequest.computeIfAbsent(response.getRequestId(), requestId -> new ArrayList<>())
+                    .add(response);
         }
-    }
 
-    private void addResponsesToRequests(List<ItemRequestDto> itemRequestDtos, List<Item> items) {
         for (ItemRequestDto currentRequest : itemRequestDtos) {
-            List<ItemResponseDto> response = items.stream()
-                    .filter(item -> item.getRequestId().equals(currentRequest.getId()))
-                    .map(item -> new ItemResponseDto(item.getItemId(), item.getName(), item.getDescription(),
-                            item.getRequestId(), item.getAvailable()))
-                    .collect(Collectors.toList());
-
-            currentRequest.setItems(response);
+            List<ItemResponseDto> requestResponses = responsesByRequest.get(currentRequest.getId());
+            currentRequest.setItems(requestResponses == null ? new ArrayList<>() : requestResponses);
         }
     }
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemBatchEvent;
+import ru.practicum.shareit.item.event.ItemEvent;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemRequestVersionListener {
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onItemEvent(ItemEvent event) {
+        if (event.getRequestId() != null) {
+            itemRequestRepository.incrementVersions(List.of(event.getRequestId()));
+        }
+    }
+
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onItemBatchEvent(ItemBatchEvent event) {
+        List<Long> requestIds = event.getItems().stream()
+                .map(ItemEvent::getRequestId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+
+        if (!requestIds.isEmpty()) {
+            itemRequestRepository.incrementVersions(requestIds);
+        }
+    }
+}
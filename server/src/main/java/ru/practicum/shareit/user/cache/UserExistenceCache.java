@@ -0,0 +1,108 @@
+package ru.practicum.shareit.user.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.user.event.UserEvent;
+import ru.practicum.shareit.user.exception.UserNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+@Component
+public class UserExistenceCache {
+
+    private static final long EMPTY = 0L;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final UserRepository userRepository;
+    private final LongSupplier nanoClock;
+    private final long ttlNanos;
+    private final long[] userIds;
+    private final long[] expiresAt;
+    private final long[] generations;
+    private final int mask;
+
+    @Autowired
+    public UserExistenceCache(UserRepository userRepository,
+                              @Value("${shareit.cache.user-existence.size:4096}") int size,
+                              @Value("${shareit.cache.user-existence.ttl:PT10M}") Duration ttl) {
+        this(userRepository, size, ttl, System::nanoTime);
+    }
+
+    public UserExistenceCache(UserRepository userRepository, int size, Duration ttl, LongSupplier nanoClock) {
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+
+        this.userRepository = userRepository;
+        this.nanoClock = nanoClock;
+        this.ttlNanos = ttl.toNanos();
+        this.userIds = new long[capacity];
+        this.expiresAt = new long[capacity];
+        this.generations = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public void checkExists(Long userId) {
+        if (contains(userId)) {
+            return;
+        }
+
+        long generation = generation(userId);
+
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+
+        put(userId, generation);
+    }
+
+    public synchronized boolean contains(long userId) {
+        int slot = slot(userId);
+
+        return userIds[slot] == userId && expiresAt[slot] - nanoClock.getAsLong() > 0;
+    }
+
+    public synchronized long generation(long userId) {
+        return generations[slot(userId)];
+    }
+
+    public synchronized void put(long userId) {
+        if (userId <= EMPTY) {
+            return;
+        }
+
+        int slot = slot(userId);
+        userIds[slot] = userId;
+        expiresAt[slot] = nanoClock.getAsLong() + ttlNanos;
+    }
+
+    public synchronized void put(long userId, long loadedGeneration) {
+        if (loadedGeneration == generations[slot(userId)]) {
+            put(userId);
+        }
+    }
+
+    public synchronized void evict(long userId) {
+        int slot = slot(userId);
+        generations[slot]++;
+
+        if (userIds[slot] == userId) {
+            userIds[slot] = EMPTY;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        if (event.getType() == UserEvent.Type.REMOVED) {
+            evict(event.getUserId());
+        } else {
+            put(event.getUserId());
+        }
+    }
+
+    private int slot(long userId) {
+        return (int) ((userId * HASH_MULTIPLIER) >>> 32) & mask;
+    }
+}
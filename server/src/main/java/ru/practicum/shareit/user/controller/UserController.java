@@ -1,27 +1,53 @@
 package ru.practicum.shareit.user.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.common.NdjsonResponseWriter;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.UserCursor;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
+@Validated
 public class UserController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final UserService userService;
+    private final ObjectMapper mapper;
 
     @GetMapping("/{userId}")
-    public UserDto getUserById(@PathVariable("userId") Long userId) {
+    public UserDto getUserById(@PathVariable("userId") Long userId, WebRequest request) {
+        if (request.checkNotModified(String.valueOf(userService.getUserVersion(userId)))) {
+            return null;
+        }
+
         return userService.getUserById(userId);
     }
 
     @GetMapping
-    public List<UserDto> getUsers() {
-        return userService.getUsers();
+    public ResponseEntity<List<UserDto>> getUsers(@Positive @Max(MAX_PAGE_SIZE)
+                                                  @RequestParam(defaultValue = "100") int size,
+                                                  @RequestParam(required = false) String cursor) {
+        return withNextCursor(userService.getUsers(cursor, size), size);
+    }
+
+    @GetMapping("/export")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        NdjsonResponseWriter.write(mapper, UserDto.class, response, userService::exportUsers);
     }
 
     @PostMapping
@@ -39,4 +65,16 @@ public class UserController {
     public UserDto deleteUser(@PathVariable("userId") Long userId) {
         return userService.deleteUser(userId);
     }
+
+    private ResponseEntity<List<UserDto>> withNextCursor(List<UserDto> users, int size) {
+        if (users.size() < size) {
+            return ResponseEntity.ok(users);
+        }
+
+        String nextCursor = UserCursor.of(users.get(users.size() - 1)).encode();
+
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(users);
+    }
 }
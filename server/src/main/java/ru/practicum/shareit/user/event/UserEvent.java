@@ -0,0 +1,30 @@
+package ru.practicum.shareit.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserEvent {
+
+    private final Long userId;
+    private final Type type;
+
+    public static UserEvent created(Long userId) {
+        return new UserEvent(userId, Type.CREATED);
+    }
+
+    public static UserEvent updated(Long userId) {
+        return new UserEvent(userId, Type.UPDATED);
+    }
+
+    public static UserEvent removed(Long userId) {
+        return new UserEvent(userId, Type.REMOVED);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        REMOVED
+    }
+}
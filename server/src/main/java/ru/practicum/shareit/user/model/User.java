@@ -22,4 +22,13 @@ public class User {
 
     @Column(unique = true)
     private String email;
+
+    @Version
+    private long version;
+
+    public User(Long userId, String name, String email) {
+        this.userId = userId;
+        this.name = name;
+        this.email = email;
+    }
 }
\ No newline at end of file
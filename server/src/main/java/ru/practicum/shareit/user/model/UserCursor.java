@@ -0,0 +1,35 @@
+package ru.practicum.shareit.user.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.common.NotValidCursorException;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Data
+@AllArgsConstructor
+public class UserCursor {
+
+    private Long userId;
+
+    public static UserCursor of(UserDto user) {
+        return new UserCursor(user.getId());
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+
+            return new UserCursor(Long.parseLong(value));
+        } catch (IllegalArgumentException e) {
+            throw new NotValidCursorException(token);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(userId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,8 +1,42 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(u.userId, u.name, u.email) " +
+            "from User as u " +
+            "where u.userId = ?1")
+    Optional<UserDto> findDtoById(Long userId);
+
+    @Query("select u.version " +
+            "from User as u " +
+            "where u.userId = ?1")
+    Optional<Long> findVersionById(Long userId);
+
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(u.userId, u.name, u.email) " +
+            "from User as u " +
+            "where u.userId > ?1 " +
+            "order by u.userId")
+    List<UserDto> findAllDtosAfter(Long userId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(u.userId, u.name, u.email) " +
+            "from User as u " +
+            "order by u.userId")
+    Stream<UserDto> streamAllDtos();
 }
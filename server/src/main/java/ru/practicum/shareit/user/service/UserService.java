@@ -1,14 +1,20 @@
 package ru.practicum.shareit.user.service;
 
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
     UserDto getUserById(Long id);
 
-    List<UserDto> getUsers();
+    long getUserVersion(Long id);
+
+    List<UserDto> getUsers(@Nullable String cursor, int size);
+
+    long exportUsers(Consumer<UserDto> consumer);
 
     UserDto addUser(UserDto user);
 
@@ -1,51 +1,92 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserEvent;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.UserCursor;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.user.dto.UserDtoMapper.toDto;
 import static ru.practicum.shareit.user.dto.UserDtoMapper.toUser;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Slf4j
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
-        User user = userRepository.findById(id)
+        UserDto user = userRepository.findDtoById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
 
-        log.info("Found User: " + user);
+        log.debug("Found user with id: {}", id);
 
-        return toDto(user);
+        return user;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUserVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsers(@Nullable String cursor, int size) {
+        long after = cursor == null ? 0 : UserCursor.decode(cursor).getUserId();
+        List<UserDto> users = userRepository.findAllDtosAfter(after, PageRequest.of(0, size));
+
+        log.debug("Found {} users after id: {}", users.size(), after);
+
+        return users;
     }
 
     @Override
-    public List<UserDto> getUsers() {
-        List<User> users = userRepository.findAll();
+    @Transactional(readOnly = true)
+    public long exportUsers(Consumer<UserDto> consumer) {
+        long exported = 0;
+
+        try (Stream<UserDto> users = userRepository.streamAllDtos()) {
+            Iterator<UserDto> iterator = users.iterator();
+
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                exported++;
+            }
+        }
 
-        log.info("Found users: " + users);
+        log.info("Exported {} users", exported);
 
-        return toDto(users);
+        return exported;
     }
 
     @Override
     @Transactional
     public UserDto addUser(UserDto user) {
         User savedUser = userRepository.save(toUser(user));
+        eventPublisher.publishEvent(UserEvent.created(savedUser.getUserId()));
 
-        log.info("User with id: " + savedUser.getUserId() + " saved");
+        log.info("User with id: {} saved", savedUser.getUserId());
 
         return toDto(savedUser);
     }
@@ -58,7 +99,8 @@ public class UserServiceImpl implements UserService {
 
         update(user, userDto);
         userRepository.save(user);
-        log.info("User with id: " + userId + " updated");
+        eventPublisher.publishEvent(UserEvent.updated(userId));
+        log.info("User with id: {} updated", userId);
 
         return toDto(user);
     }
@@ -70,7 +112,8 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         userRepository.deleteById(userId);
-        log.info("User with id: " + userId + " deleted");
+        eventPublisher.publishEvent(UserEvent.removed(userId));
+        log.info("User with id: {} deleted", userId);
 
         return toDto(user);
     }
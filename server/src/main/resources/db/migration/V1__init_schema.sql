@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS users CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS bookings CASCADE;
-DROP TABLE IF EXISTS item_requests CASCADE;
-
 CREATE TABLE IF NOT EXISTS users (
     user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255)                               NOT NULL,
@@ -55,4 +49,4 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT pk_booking PRIMARY KEY (booking_id),
     CONSTRAINT fk_bookings_user_id FOREIGN KEY (user_id)   REFERENCES users(user_id),
     CONSTRAINT fk_bookings_item_id FOREIGN KEY (item_id)    REFERENCES items(item_id)
-);
\ No newline at end of file
+);
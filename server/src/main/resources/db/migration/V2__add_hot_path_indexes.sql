@@ -0,0 +1,6 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_user_id_end_time ON bookings (user_id, end_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_start_time ON bookings (item_id, start_time);
+CREATE INDEX IF NOT EXISTS idx_items_user_id ON items (user_id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_item_requests_user_id_time_of_creation ON item_requests (user_id, time_of_creation);
@@ -0,0 +1,12 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS booking_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS approved_booking_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS rating_sum BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS rating_count BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE items
+SET booking_count = (SELECT COUNT(*) FROM bookings b WHERE b.item_id = items.item_id),
+    approved_booking_count = (SELECT COUNT(*) FROM bookings b WHERE b.item_id = items.item_id AND b.status = '0'),
+    comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.item_id),
+    rating_sum = (SELECT COALESCE(SUM(c.rating), 0) FROM comments c WHERE c.item_id = items.item_id AND c.rating > 0),
+    rating_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.item_id AND c.rating > 0);
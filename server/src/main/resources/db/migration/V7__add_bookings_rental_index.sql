@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_user_id_item_id_status_end_time ON bookings (user_id, item_id, status, end_time);
@@ -0,0 +1,2 @@
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE item_requests ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,6 @@
+ALTER TABLE items DROP CONSTRAINT IF EXISTS fk_user_id;
+ALTER TABLE items ADD CONSTRAINT fk_user_id FOREIGN KEY (user_id) REFERENCES users(user_id);
+ALTER TABLE comments DROP CONSTRAINT IF EXISTS fk_comment_item_id;
+ALTER TABLE comments ADD CONSTRAINT fk_comment_item_id FOREIGN KEY (item_id) REFERENCES items(item_id);
+DROP INDEX IF EXISTS idx_item_requests_user_id_time_of_creation;
+CREATE INDEX IF NOT EXISTS idx_item_requests_user_id_time_of_creation ON item_requests (user_id, time_of_creation, description);
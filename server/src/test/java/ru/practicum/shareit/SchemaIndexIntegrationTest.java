@@ -0,0 +1,160 @@
+package ru.practicum.shareit;
+
+import lombok.SneakyThrows;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repostitory.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DataJpaTest
+@Sql(value = {"/set-up-before.sql", "/set-up-query-plans.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/set-up-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SchemaIndexIntegrationTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeEach
+    public void setUp() {
+        STATEMENTS.clear();
+    }
+
+    @Test
+    public void findPastBookingsByBookerWhenExplainedUseBookerEndTimeIndex() {
+        bookingRepository.findAllByState(1010L, BookingRole.BOOKER, BookingState.PAST, TIME, null,
+                PageRequest.of(0, 20));
+
+        assertUsesIndex("IDX_BOOKINGS_USER_ID_END_TIME", singleStatement());
+    }
+
+    @Test
+    public void existsFinishedRentalWhenExplainedUseBookerItemStatusEndTimeIndex() {
+        bookingRepository.existsByUserUserIdAndItemItemIdAndStatusAndEndTimeBefore(1010L, 1010L, Status.WAITING, TIME);
+
+        assertUsesIndex("IDX_BOOKINGS_USER_ID_ITEM_ID_STATUS_END_TIME", singleStatement());
+    }
+
+    @Test
+    public void findLastAndNextBookingsWhenExplainedUseItemStartTimeIndex() {
+        bookingRepository.findLastAndNextBookings(List.of(1010L, 1020L), TIME);
+
+        assertUsesIndex("IDX_BOOKINGS_ITEM_ID_START_TIME", STATEMENTS.get(0));
+    }
+
+    @Test
+    public void findItemsByOwnerWhenExplainedUseOwnerIndex() {
+        itemRepository.findAllByUserUserId(1010L, PageRequest.of(0, 20));
+
+        assertUsesIndex("IDX_ITEMS_USER_ID", singleStatement());
+    }
+
+    @Test
+    public void findItemsByRequestsWhenExplainedUseRequestIndex() {
+        itemRepository.findAllResponsesByRequests(List.of(1010L, 1020L));
+
+        assertUsesIndex("IDX_ITEMS_REQUEST_ID", singleStatement());
+    }
+
+    @Test
+    public void findCommentsByItemWhenExplainedUseItemIndex() {
+        commentRepository.findAllCommentByItemItemId(1010L);
+
+        assertUsesIndex("IDX_COMMENTS_ITEM_ID", STATEMENTS.get(0));
+    }
+
+    @Test
+    public void findCommentsByItemsWhenExplainedUseItemIndex() {
+        List<Item> items = itemRepository.findAllById(List.of(1010L, 1020L));
+        STATEMENTS.clear();
+
+        commentRepository.findAllByItems(items);
+
+        assertUsesIndex("IDX_COMMENTS_ITEM_ID", STATEMENTS.get(0));
+    }
+
+    @Test
+    public void findItemRequestsByAuthorWhenExplainedUseAuthorCreationIndex() {
+        itemRequestRepository.findAllDtosByUserId(1010L);
+
+        assertUsesIndex("IDX_ITEM_REQUESTS_USER_ID_TIME_OF_CREATION", singleStatement());
+    }
+
+    private static String singleStatement() {
+        assertEquals(1, STATEMENTS.size(), STATEMENTS::toString);
+        return STATEMENTS.get(0);
+    }
+
+    private void assertUsesIndex(String index, String query) {
+        String plan = explain(query);
+
+        assertTrue(plan.contains("/* PUBLIC." + index + ":"), plan);
+    }
+
+    @SneakyThrows
+    private String explain(String query) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + query);
+             ResultSet plan = statement.executeQuery()) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+
+    @TestConfiguration
+    static class StatementRecordingConfiguration {
+
+        @Bean
+        public HibernatePropertiesCustomizer statementRecordingHibernatePropertiesCustomizer() {
+            StatementInspector statementInspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    statementInspector);
+        }
+    }
+}
@@ -12,15 +12,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -86,6 +92,68 @@ public class BookingControllerIntegrationTest {
                 .andExpect(jsonPath("$.bookerId", is((int) userId)));
     }
 
+    @Test
+    @SneakyThrows
+    public void addBookingsWhenSomeEntriesNotValidSaveOthersAndReportErrors() {
+        bookingDto.setId(null);
+        BookingDto unknownItem = BookingDto.builder()
+                .itemId(unknownItemId)
+                .start(now.plusHours(1))
+                .end(now.plusHours(2))
+                .build();
+        BookingDto otherItem = BookingDto.builder()
+                .itemId(2L)
+                .start(now.plusHours(1))
+                .end(now.plusHours(2))
+                .build();
+
+        mvc.perform(post(URL + "/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(mapper.writeValueAsString(List.of(bookingDto, unknownItem, otherItem)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[0].booking.bookerId", is((int) userId)))
+                .andExpect(jsonPath("$[1].error", is("Item with id: " + unknownItemId + " not found")))
+                .andExpect(jsonPath("$[2].booking.itemId", is(2)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportBookingsForCurrentUserWhenInvokedReturnAllBookingsAsNdjson() {
+        String content = mvc.perform(get(URL + "/export")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        List<BookingDto> bookings = mapper.readerFor(BookingDto.class).<BookingDto>readValues(content).readAll();
+
+        assertEquals(List.of(4L, 2L, 3L, 1L), bookings.stream().map(BookingDto::getId).collect(Collectors.toList()));
+        assertEquals("Отвертка", bookings.get(0).getItemName());
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportBookingsForOwnerWhenUserHasNoItemsReturnEmptyBody() {
+        mvc.perform(get(URL + "/owner/export")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportBookingsForOwnerWhenUserNotFoundReturnStatusIsNotFound() {
+        mvc.perform(get(URL + "/owner/export")
+                        .header("X-Sharer-User-Id", unknownUserId))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @SneakyThrows
     public void addBookingWhenUserNotFoundReturnStatusIsNotFound() {
@@ -221,6 +289,8 @@ public class BookingControllerIntegrationTest {
 
     @Test
     @SneakyThrows
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "update bookings set status = 1 where booking_id = 4")
     public void setApproveWhenInvokedMethodReturnBooking() {
         long notApprovedBookingId = 4L;
 
@@ -230,7 +300,37 @@ public class BookingControllerIntegrationTest {
                     .characterEncoding(StandardCharsets.UTF_8)
                     .contentType(MediaType.APPLICATION_JSON)
                     .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("APPROVED")));
+    }
+
+    @Test
+    @SneakyThrows
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "update bookings set status = 1 where booking_id = 4")
+    public void setApproveWhenBookingAlreadyDecidedReturnStatusIsBadRequest() {
+        long notApprovedBookingId = 4L;
+
+        mvc.perform(patch(URL + "/{bookingId}", notApprovedBookingId)
+                        .header("X-Sharer-User-Id", itemOwnerId)
+                        .queryParam("approved", "false"))
                 .andExpect(status().isOk());
+
+        mvc.perform(patch(URL + "/{bookingId}", notApprovedBookingId)
+                        .header("X-Sharer-User-Id", itemOwnerId)
+                        .queryParam("approved", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    public void setApproveWhenBookingCanceledReturnStatusIsBadRequest() {
+        long canceledBookingId = 4L;
+
+        mvc.perform(patch(URL + "/{bookingId}", canceledBookingId)
+                        .header("X-Sharer-User-Id", itemOwnerId)
+                        .queryParam("approved", "true"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -271,8 +371,12 @@ public class BookingControllerIntegrationTest {
 
     @Test
     @SneakyThrows
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "update bookings set status = 1 where booking_id = 4")
     public void setApproveWhenStateIsRejectedReturnBooking() {
-        mvc.perform(patch(URL + "/{bookingId}", bookingId)
+        long notApprovedBookingId = 4L;
+
+        mvc.perform(patch(URL + "/{bookingId}", notApprovedBookingId)
                         .header("X-Sharer-User-Id", itemOwnerId)
                         .queryParam("approved", "false")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -411,6 +515,52 @@ public class BookingControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()", is(2)));
     }
 
+    @Test
+    @SneakyThrows
+    public void getBookingForOwnerWhenCursorFromPreviousPageReturnNextTwoBookings() {
+        String cursor = mvc.perform(get(URL + "/owner")
+                        .header("X-Sharer-User-Id", itemOwnerId)
+                        .queryParam("size", "2")
+                        .queryParam("state", "ALL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].id", is(2)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn()
+                .getResponse()
+                .getHeader("X-Next-Cursor");
+
+        mvc.perform(get(URL + "/owner")
+                        .header("X-Sharer-User-Id", itemOwnerId)
+                        .queryParam("size", "2")
+                        .queryParam("state", "ALL")
+                        .queryParam("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[1].id", is(1)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getBookingForOwnerWhenLastPageReturnWithoutCursor() {
+        mvc.perform(get(URL + "/owner")
+                        .header("X-Sharer-User-Id", itemOwnerId)
+                        .queryParam("size", "10")
+                        .queryParam("state", "ALL"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getBookingForCurrentUserWhenCursorNotValidReturnStatusIsBadRequest() {
+        mvc.perform(get(URL)
+                        .header("X-Sharer-User-Id", userId)
+                        .queryParam("state", "ALL")
+                        .queryParam("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @SneakyThrows
     public void getBookingForOwnerWhenUserNotFoundReturnStatusIsNotFound() {
@@ -11,17 +11,28 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
 import ru.practicum.shareit.booking.exception.BookingNotFoundException;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.RequestBooking;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -182,4 +193,85 @@ public class BookingControllerTest {
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    public void addBookingsWhenInvokedMethodReturnResultPerEntry() {
+        when(bookingService.addBookings(List.of(bookingDto, bookingDto), userId))
+                .thenReturn(List.of(BookingResultDto.success(bookingDto), BookingResultDto.failure("Overlap")));
+
+        mvc.perform(post(URL + "/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(mapper.writeValueAsString(List.of(bookingDto, bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[1].error", is("Overlap")));
+    }
+
+    @Test
+    @SneakyThrows
+    public void addBookingsWhenMoreThanMaxBulkSizeReturnBadRequest() {
+        mvc.perform(post(URL + "/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(mapper.writeValueAsString(Collections.nCopies(BookingService.MAX_BULK_SIZE + 1,
+                                bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @SneakyThrows
+    public void addBookingsWhenEmptyReturnBadRequest() {
+        mvc.perform(post(URL + "/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportBookingsForCurrentUserWhenInvokedWriteOneLinePerBooking() {
+        when(bookingService.exportBookings(eq(userId), eq(BookingRole.BOOKER), any())).thenAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(2);
+            consumer.accept(bookingDto);
+            consumer.accept(bookingDto);
+
+            return 2L;
+        });
+
+        String content = mvc.perform(get(URL + "/export")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String line = mapper.writeValueAsString(bookingDto);
+        assertEquals(line + "\n" + line + "\n", content);
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportBookingsForOwnerWhenUserNotFoundReturnStatusIsNotFound() {
+        when(bookingService.exportBookings(eq(userId), eq(BookingRole.OWNER), any()))
+                .thenThrow(new UserNotFoundException(userId));
+
+        mvc.perform(get(URL + "/owner/export")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+}
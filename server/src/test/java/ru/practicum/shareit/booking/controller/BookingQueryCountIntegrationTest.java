@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.controller;
+
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(value = {"/set-up-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/set-up-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class BookingQueryCountIntegrationTest {
+
+    private static final String URL = "/bookings";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private long bookerId;
+    private long ownerId;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        bookerId = 2L;
+        ownerId = 1L;
+    }
+
+    @Test
+    @SneakyThrows
+    public void getBookingByIdWhenBookingFoundLoadItemAndUsersInOneQuery() {
+        assertEquals(1, countQueries(get(URL + "/{bookingId}", 1L)
+                .header("X-Sharer-User-Id", bookerId)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getBookingForCurrentUserWhenPageLoadedLoadItemsAndUsersInOneQuery() {
+        mvc.perform(get(URL).header("X-Sharer-User-Id", bookerId))
+                .andExpect(jsonPath("$.length()", is(4)));
+
+        assertEquals(1, countQueries(get(URL)
+                .header("X-Sharer-User-Id", bookerId)
+                .queryParam("size", "20")));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getBookingForOwnerWhenPageLoadedLoadItemsAndUsersInOneQuery() {
+        mvc.perform(get(URL + "/owner").header("X-Sharer-User-Id", ownerId))
+                .andExpect(jsonPath("$.length()", is(4)));
+
+        assertEquals(1, countQueries(get(URL + "/owner")
+                .header("X-Sharer-User-Id", ownerId)
+                .queryParam("size", "20")));
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportBookingsForOwnerWhenHistoryExportedLoadItemsAndUsersInOneQuery() {
+        mvc.perform(get(URL + "/owner/export").header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk());
+
+        assertEquals(1, countQueries(get(URL + "/owner/export")
+                .header("X-Sharer-User-Id", ownerId)));
+    }
+
+    @SneakyThrows
+    private long countQueries(RequestBuilder request) {
+        entityManager.clear();
+        statistics.clear();
+
+        mvc.perform(request)
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repostitory.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingIntervalIndex index;
+
+    private long itemId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    public void setUp() {
+        itemId = 1L;
+        start = LocalDateTime.now().plusDays(1);
+        end = start.plusDays(2);
+
+        index.onBookingSaved(new BookingEvent(1L, itemId, start, end, Status.WAITING, false));
+    }
+
+    @Test
+    public void hasOverlapWhenIntervalInsideBookingReturnTrue() {
+        assertTrue(index.hasOverlap(itemId, start.plusHours(1), end.minusHours(1)));
+    }
+
+    @Test
+    public void hasOverlapWhenIntervalCoversBookingReturnTrue() {
+        assertTrue(index.hasOverlap(itemId, start.minusHours(1), end.plusHours(1)));
+    }
+
+    @Test
+    public void hasOverlapWhenIntervalStartsAtSameTimeReturnTrue() {
+        assertTrue(index.hasOverlap(itemId, start, start.plusHours(1)));
+    }
+
+    @Test
+    public void hasOverlapWhenIntervalEndsBeforeBookingReturnFalse() {
+        assertFalse(index.hasOverlap(itemId, start.minusDays(1), start));
+    }
+
+    @Test
+    public void hasOverlapWhenIntervalStartsAfterBookingReturnFalse() {
+        assertFalse(index.hasOverlap(itemId, end, end.plusDays(1)));
+    }
+
+    @Test
+    public void hasOverlapWhenOtherItemReturnFalse() {
+        assertFalse(index.hasOverlap(2L, start, end));
+    }
+
+    @Test
+    public void hasOverlapWhenBookingRejectedReturnFalse() {
+        index.onBookingSaved(new BookingEvent(1L, itemId, start, end, Status.REJECTED, false));
+
+        assertTrue(index.hasOverlap(itemId, start, end));
+
+        index.onBookingCommitted(new BookingEvent(1L, itemId, start, end, Status.REJECTED, false));
+
+        assertFalse(index.hasOverlap(itemId, start, end));
+    }
+
+    @Test
+    public void hasOverlapWhenBookingRemovedReturnFalse() {
+        index.onBookingCommitted(new BookingEvent(1L, itemId, start, end, Status.APPROVED, true));
+
+        assertFalse(index.hasOverlap(itemId, start, end));
+    }
+
+    @Test
+    public void hasOverlapWhenLongBookingHiddenBehindShorterOneReturnTrue() {
+        index.onBookingSaved(new BookingEvent(2L, itemId, start.plusHours(1), start.plusHours(2), Status.WAITING,
+                false));
+
+        assertTrue(index.hasOverlap(itemId, end.minusHours(2), end.minusHours(1)));
+    }
+
+    @Test
+    public void hasOverlapWhenIntervalBetweenNeighboursReturnFalse() {
+        index.onBookingSaved(new BookingEvent(2L, itemId, end.plusDays(1), end.plusDays(2), Status.WAITING, false));
+        index.onBookingSaved(new BookingEvent(3L, itemId, end.plusDays(3), end.plusDays(4), Status.APPROVED, false));
+
+        assertFalse(index.hasOverlap(itemId, end.plusDays(2), end.plusDays(3)));
+        assertTrue(index.hasOverlap(itemId, end.plusDays(2), end.plusDays(3).plusHours(1)));
+        assertTrue(index.hasOverlap(itemId, end.plusDays(1).minusHours(1), end.plusDays(2)));
+    }
+
+    @Test
+    public void hasOverlapWhenLegacyBookingsOverlapAfterRebuildReturnTrue() {
+        when(bookingRepository.findAllIntervals(any(), any())).thenReturn(List.of(
+                new BookingInterval(2L, itemId, start, end),
+                new BookingInterval(3L, itemId, start.plusHours(1), start.plusHours(2))));
+
+        index.rebuild();
+
+        assertTrue(index.hasOverlap(itemId, end.minusHours(2), end.minusHours(1)));
+        assertFalse(index.hasOverlap(itemId, end, end.plusDays(1)));
+    }
+
+    @Test
+    public void hasOverlapWhenBookingEndedEvictIt() {
+        LocalDateTime pastStart = LocalDateTime.now().minusDays(3);
+        index.onBookingSaved(new BookingEvent(2L, itemId, pastStart, pastStart.plusDays(1), Status.APPROVED, false));
+
+        assertTrue(index.hasOverlap(itemId, pastStart, pastStart.plusHours(1)));
+        assertFalse(index.hasOverlap(itemId, end, end.plusDays(1)));
+        assertFalse(index.hasOverlap(itemId, pastStart, pastStart.plusHours(1)));
+    }
+
+    @Test
+    public void evictEndedWhenBookingEndedRemoveIt() {
+        LocalDateTime pastStart = LocalDateTime.now().minusDays(3);
+        index.onBookingSaved(new BookingEvent(2L, itemId, pastStart, pastStart.plusDays(1), Status.APPROVED, false));
+
+        index.evictEnded();
+
+        assertFalse(index.hasOverlap(itemId, pastStart, pastStart.plusHours(1)));
+        assertTrue(index.hasOverlap(itemId, start, end));
+    }
+
+    @Test
+    public void onBookingRolledBackWhenBookingNotSavedRemoveIt() {
+        when(bookingRepository.existsById(1L)).thenReturn(false);
+
+        index.onBookingRolledBack(new BookingEvent(1L, itemId, start, end, Status.WAITING, false));
+
+        assertFalse(index.hasOverlap(itemId, start, end));
+    }
+
+    @Test
+    public void onBookingRolledBackWhenBookingExistsKeepIt() {
+        when(bookingRepository.existsById(1L)).thenReturn(true);
+
+        index.onBookingRolledBack(new BookingEvent(1L, itemId, start, end, Status.APPROVED, false));
+
+        assertTrue(index.hasOverlap(itemId, start, end));
+    }
+
+    @Test
+    public void rebuildWhenInvokedMethodReplaceIntervals() {
+        LocalDateTime otherStart = end.plusDays(1);
+        when(bookingRepository.findAllIntervals(any(), any()))
+                .thenReturn(List.of(new BookingInterval(2L, itemId, otherStart, otherStart.plusDays(1))));
+
+        index.rebuild();
+
+        assertFalse(index.hasOverlap(itemId, start, end));
+        assertTrue(index.hasOverlap(itemId, otherStart, otherStart.plusHours(1)));
+    }
+}
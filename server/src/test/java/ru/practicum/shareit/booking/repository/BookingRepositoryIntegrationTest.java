@@ -6,17 +6,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repostitory.BookingRepository;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.item.repository.ItemRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Transactional
 @DataJpaTest(
@@ -29,9 +35,6 @@ public class BookingRepositoryIntegrationTest {
     @Autowired
     private BookingRepository bookingRepository;
 
-    @Autowired
-    private ItemRepository itemRepository;
-
     private long userId;
     private long ownerId;
     private PageRequest defaultPageRequest;
@@ -46,8 +49,30 @@ public class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    public void findAllByUserUserIdOrderByEndTimeDescWhenFoundTwoBookingsReturnFourBookings() {
-        List<Booking> bookings = bookingRepository.findAllByUserUserIdOrderByEndTimeDesc(userId, defaultPageRequest);
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "update bookings set status = 1 where booking_id = 4")
+    public void updateWaitingStatusWhenInvokedTwiceUpdateOnlyOnce() {
+        long waitingBookingId = 4L;
+
+        assertEquals(1, bookingRepository.updateWaitingStatus(waitingBookingId, ownerId, Status.APPROVED));
+        assertEquals(0, bookingRepository.updateWaitingStatus(waitingBookingId, ownerId, Status.REJECTED));
+
+        Booking booking = bookingRepository.findById(waitingBookingId).orElseThrow();
+        assertEquals(Status.APPROVED, booking.getStatus());
+        assertEquals(1, booking.getVersion());
+    }
+
+    @Test
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "update bookings set status = 1 where booking_id = 4")
+    public void updateWaitingStatusWhenUserNotOwnerNotUpdate() {
+        assertEquals(0, bookingRepository.updateWaitingStatus(4L, userId, Status.APPROVED));
+    }
+
+    @Test
+    public void findAllByStateWhenBookerAndStateIsAllReturnFourBookings() {
+        List<Booking> bookings = bookingRepository
+                .findAllByState(userId, BookingRole.BOOKER, BookingState.ALL, now, null, defaultPageRequest);
 
         assertEquals(4, bookings.size());
         assertEquals(1L, bookings.get(3).getBookingId());
@@ -57,147 +82,192 @@ public class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    public void findAllByUserUserIdOrderByEndTimeDescWhenBookingsNotFoundReturnEmptyList() {
+    public void findAllByStateWhenBookerDoesntHaveBookingsReturnEmptyList() {
         long userIdWithoutBookings = 1L;
 
-        List<Booking> bookings = bookingRepository.findAllByUserUserIdOrderByEndTimeDesc(userIdWithoutBookings, defaultPageRequest);
+        List<Booking> bookings = bookingRepository
+                .findAllByState(userIdWithoutBookings, BookingRole.BOOKER, BookingState.ALL, now, null, defaultPageRequest);
 
         assertEquals(0, bookings.size());
     }
 
     @Test
-    public void findAllBookingByOwnerIdWhenInvokedMethodReturnFourBookings() {
-        List<Booking> bookings = bookingRepository.findAllBookingByOwnerId(ownerId, defaultPageRequest);
+    public void findAllByStateWhenPageSizeIsTwoReturnTwoBookings() {
+        List<Booking> bookings = bookingRepository
+                .findAllByState(userId, BookingRole.BOOKER, BookingState.ALL, now, null, PageRequest.of(1, 2));
 
-        assertEquals(4, bookings.size());
+        assertEquals(2, bookings.size());
+        assertEquals(3L, bookings.get(0).getBookingId());
+        assertEquals(1L, bookings.get(1).getBookingId());
     }
 
     @Test
-    public void findAllBookingByOwnerIdWhenOwnerDoesntHaveBookingsReturnEmptyList() {
-        long ownerIdWithoutBookings = 2L;
+    public void findAllByStateWhenCursorGivenReturnBookingsAfterCursor() {
+        Booking cursorBooking = bookingRepository.findById(2L).orElseThrow();
+        BookingCursor after = new BookingCursor(cursorBooking.getStartTime(), cursorBooking.getEndTime(),
+                cursorBooking.getBookingId());
 
-        List<Booking> bookings = bookingRepository.findAllBookingByOwnerId(ownerIdWithoutBookings, defaultPageRequest);
+        List<Booking> bookings = bookingRepository
+                .findAllByState(userId, BookingRole.BOOKER, BookingState.ALL, now, after, PageRequest.of(0, 10));
 
-        assertEquals(0, bookings.size());
+        assertEquals(2, bookings.size());
+        assertEquals(3L, bookings.get(0).getBookingId());
+        assertEquals(1L, bookings.get(1).getBookingId());
     }
 
     @Test
-    public void findAllByUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDescWhenInvokedMethodReturnOneBooking() {
+    public void findAllByStateWhenBookerAndStateIsCurrentReturnOneBooking() {
         List<Booking> bookings = bookingRepository
-                .findAllByUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc(userId,
-                        now, now, defaultPageRequest);
+                .findAllByState(userId, BookingRole.BOOKER, BookingState.CURRENT, now, null, defaultPageRequest);
 
         assertEquals(1, bookings.size());
+        assertEquals(3L, bookings.get(0).getBookingId());
     }
 
     @Test
-    public void findAllByUserUserIdAndStartTimeIsAfterOrderByEndTimeDescWhenInvokedMethodReturnTwoBookings() {
+    public void findAllByStateWhenBookerAndStateIsPastReturnOneBooking() {
         List<Booking> bookings = bookingRepository
-                .findAllByUserUserIdAndStartTimeIsAfterOrderByEndTimeDesc(userId, now, defaultPageRequest);
+                .findAllByState(userId, BookingRole.BOOKER, BookingState.PAST, now, null, defaultPageRequest);
 
-        assertEquals(2, bookings.size());
+        assertEquals(1, bookings.size());
+        assertEquals(1L, bookings.get(0).getBookingId());
     }
 
     @Test
-    public void findAllByUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDescWhenStatusIsApprovedReturnOneBooking() {
+    public void findAllByStateWhenBookerAndStateIsFutureReturnTwoBookings() {
         List<Booking> bookings = bookingRepository
-                .findAllByUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(userId, now, Status.APPROVED, defaultPageRequest);
+                .findAllByState(userId, BookingRole.BOOKER, BookingState.FUTURE, now, null, defaultPageRequest);
 
-        assertEquals(1, bookings.size());
+        assertEquals(2, bookings.size());
     }
 
     @Test
-    public void findAllByUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDescWhenStatusIsCanceledReturnOneBooking() {
+    public void findAllByStateWhenBookerAndStateIsWaitingReturnEmptyList() {
         List<Booking> bookings = bookingRepository
-                .findAllByUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(userId, now, Status.CANCELED, defaultPageRequest);
+                .findAllByState(userId, BookingRole.BOOKER, BookingState.WAITING, now, null, defaultPageRequest);
 
-        assertEquals(1, bookings.size());
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    public void findAllByItemUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDescWhenStatusIsApprovedReturnOneBookings() {
+    public void findAllByStateWhenBookerAndStateIsRejectedReturnEmptyList() {
         List<Booking> bookings = bookingRepository
-                .findAllByItemUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(ownerId, now, Status.APPROVED, defaultPageRequest);
+                .findAllByState(userId, BookingRole.BOOKER, BookingState.REJECTED, now, null, defaultPageRequest);
 
-        assertEquals(1, bookings.size());
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    public void findAllByUserUserIdAndStatusOrderByEndTimeDescWhenInvokedMethodReturnThreeBookings() {
+    public void findAllByStateWhenOwnerAndStateIsAllReturnFourBookings() {
         List<Booking> bookings = bookingRepository
-                .findAllByUserUserIdAndStatusOrderByEndTimeDesc(userId, Status.APPROVED, defaultPageRequest);
+                .findAllByState(ownerId, BookingRole.OWNER, BookingState.ALL, now, null, defaultPageRequest);
 
-        assertEquals(3, bookings.size());
+        assertEquals(4, bookings.size());
     }
 
     @Test
-    public void findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDescWhenInvokedMethodReturnOneBooking() {
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "update bookings set end_time = '2031-07-14 21:20:20' where booking_id = 3")
+    public void findAllByStateWhenOwnerAndStateIsAllOrderByStartTime() {
         List<Booking> bookings = bookingRepository
-                .findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(userId, now, defaultPageRequest);
+                .findAllByState(ownerId, BookingRole.OWNER, BookingState.ALL, now, null, defaultPageRequest);
 
-        assertEquals(1, bookings.size());
+        assertEquals(List.of(4L, 2L, 3L, 1L), bookings.stream()
+                .map(Booking::getBookingId)
+                .collect(Collectors.toList()));
     }
 
     @Test
-    public void findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDescWhenInvokedMethodWithoutPageRequestReturnOneBooking() {
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "update bookings set end_time = '2031-07-14 21:20:20' where booking_id = 3")
+    public void findAllByStateWhenOwnerAndStateIsAllAndCursorGivenSeekByStartTime() {
+        Booking cursorBooking = bookingRepository.findById(2L).orElseThrow();
+        BookingCursor after = new BookingCursor(cursorBooking.getStartTime(), cursorBooking.getEndTime(),
+                cursorBooking.getBookingId());
+
         List<Booking> bookings = bookingRepository
-                .findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(userId, now);
+                .findAllByState(ownerId, BookingRole.OWNER, BookingState.ALL, now, after, defaultPageRequest);
 
-        assertEquals(1, bookings.size());
+        assertEquals(List.of(3L, 1L), bookings.stream()
+                .map(Booking::getBookingId)
+                .collect(Collectors.toList()));
     }
 
     @Test
-    public void findAllByItemUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc() {
+    public void findAllByStateWhenOwnerDoesntHaveBookingsReturnEmptyList() {
+        long ownerIdWithoutBookings = 2L;
+
         List<Booking> bookings = bookingRepository
-                .findAllByItemUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc(ownerId, now, now, defaultPageRequest);
+                .findAllByState(ownerIdWithoutBookings, BookingRole.OWNER, BookingState.ALL, now, null, defaultPageRequest);
 
-        assertEquals(1, bookings.size());
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    public void findAllByItemUserUserIdAndStatusOrderByEndTimeDescWhenStatusIsApprovedReturnThreeBookings() {
+    public void findAllByStateWhenOwnerAndStateIsCurrentReturnOneBooking() {
         List<Booking> bookings = bookingRepository
-                .findAllByItemUserUserIdAndStatusOrderByEndTimeDesc(ownerId, Status.APPROVED, defaultPageRequest);
+                .findAllByState(ownerId, BookingRole.OWNER, BookingState.CURRENT, now, null, defaultPageRequest);
 
-        assertEquals(3, bookings.size());
+        assertEquals(1, bookings.size());
     }
 
     @Test
-    public void findAllByItemUserUserIdAndStatusOrderByEndTimeDescWhenStatusIsCanceledReturnOneBooking() {
+    public void findAllByStateWhenOwnerAndStateIsPastReturnOneBooking() {
         List<Booking> bookings = bookingRepository
-                .findAllByItemUserUserIdAndStatusOrderByEndTimeDesc(ownerId, Status.CANCELED, defaultPageRequest);
+                .findAllByState(ownerId, BookingRole.OWNER, BookingState.PAST, now, null, defaultPageRequest);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    public void findAllByItemUserUserIdAndEndTimeIsBeforeOrderByEndTimeDescWhenInvokedMethodReturnOneBooking() {
+    public void findAllByStateWhenOwnerAndStateIsFutureReturnTwoBookings() {
         List<Booking> bookings = bookingRepository
-                .findAllByItemUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(ownerId, now, defaultPageRequest);
+                .findAllByState(ownerId, BookingRole.OWNER, BookingState.FUTURE, now, null, defaultPageRequest);
 
-        assertEquals(1, bookings.size());
+        assertEquals(2, bookings.size());
+    }
+
+    @Test
+    public void existsByUserAndItemAndStatusAndEndTimeBeforeWhenRentalFinishedReturnTrue() {
+        assertTrue(bookingRepository.existsByUserUserIdAndItemItemIdAndStatusAndEndTimeBefore(userId, 1L,
+                Status.APPROVED, now));
     }
 
     @Test
-    public void findAllByItemItemIdWhenMethodInvokedReturnFourBookings() {
-        List<Booking> bookings = bookingRepository.findAllByItemItemId(1L);
+    public void existsByUserAndItemAndStatusAndEndTimeBeforeWhenOtherItemReturnFalse() {
+        assertFalse(bookingRepository.existsByUserUserIdAndItemItemIdAndStatusAndEndTimeBefore(userId, 2L,
+                Status.APPROVED, now));
+    }
 
-        assertEquals(4, bookings.size());
+    @Test
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "update bookings set status = 2 where booking_id = 1")
+    public void existsByUserAndItemAndStatusAndEndTimeBeforeWhenRentalRejectedReturnFalse() {
+        assertFalse(bookingRepository.existsByUserUserIdAndItemItemIdAndStatusAndEndTimeBefore(userId, 1L,
+                Status.APPROVED, now));
     }
 
     @Test
-    public void findAllByItemItemIdWhenItemDoesntHaveBookingsReturnEmptyList() {
-        List<Booking> bookings = bookingRepository.findAllByItemItemId(2L);
+    public void findLastAndNextBookingsWhenInvokedMethodReturnLastAndNextBooking() {
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(List.of(1L, 2L), now);
 
-        assertEquals(0, bookings.size());
+        assertEquals(2, bookings.size());
+        assertEquals(Set.of(2L, 3L), bookings.stream()
+                .map(Booking::getBookingId)
+                .collect(Collectors.toSet()));
     }
 
     @Test
-    public void findAllByItemsWhenInvokedMethodReturnFourBookings() {
-        List<Item> items = itemRepository.findAll();
+    public void findLastAndNextBookingsWhenItemDoesntHaveBookingsReturnEmptyList() {
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(List.of(2L), now);
 
-        List<Booking> bookings = bookingRepository.findAllByItems(items);
+        assertEquals(0, bookings.size());
+    }
 
-        assertEquals(4, bookings.size());
+    @Test
+    public void findLastAndNextBookingsWhenItemsEmptyReturnEmptyList() {
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(List.of(), now);
+
+        assertEquals(0, bookings.size());
     }
-}
\ No newline at end of file
+}
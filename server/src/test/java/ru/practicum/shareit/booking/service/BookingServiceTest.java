@@ -6,26 +6,50 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
+import ru.practicum.shareit.booking.event.BookingEvent;
 import ru.practicum.shareit.booking.exception.*;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.RequestBooking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repostitory.BookingRepository;
 import ru.practicum.shareit.common.NotOwnerException;
+import ru.practicum.shareit.common.NotValidCursorException;
 import ru.practicum.shareit.item.exception.ItemNotAvailableException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
+import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.dto.BookingDtoMapper.toDto;
 
@@ -41,6 +65,18 @@ public class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -102,16 +138,117 @@ public class BookingServiceTest {
     @Test
     public void addBookingWhenInvokedMethodReturnBooking() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.save(booking)).thenReturn(booking);
 
         assertEquals(toDto(booking), bookingService.addBooking(toDto(booking), userId));
+        verify(itemRepository).addBookingCount(itemId, 1);
+    }
+
+    @Test
+    public void addBookingsWhenSomeEntriesNotValidSaveValidAndReportErrorsPerEntry() {
+        long unknownItemId = 100L;
+        BookingDto valid = toDto(booking);
+        valid.setId(null);
+        BookingDto unknownItem = toDto(booking);
+        unknownItem.setItemId(unknownItemId);
+        BookingDto wrongTime = toDto(booking);
+        wrongTime.setStart(now.plusDays(2));
+        BookingDto overlapsValid = toDto(booking);
+        overlapsValid.setStart(now.plusHours(3));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findAllWithOwnerByItemIds(List.of(itemId, unknownItemId))).thenReturn(List.of(item));
+
+        List<BookingResultDto> results = bookingService.addBookings(List.of(valid, unknownItem, wrongTime,
+                overlapsValid), userId);
+
+        assertEquals(4, results.size());
+        assertNull(results.get(0).getError());
+        assertEquals(itemId, results.get(0).getBooking().getItemId());
+        assertNull(results.get(1).getBooking());
+        assertEquals("Item with id: 100 not found", results.get(1).getError());
+        assertNull(results.get(2).getBooking());
+        assertNull(results.get(3).getBooking());
+        verify(bookingRepository).saveAll(argThat(bookings -> ((List<Booking>) bookings).size() == 1));
+        verify(itemRepository).lockAllByItemIds(List.of(itemId, unknownItemId));
+        verify(itemRepository).addBookingCount(itemId, 1L);
+        verify(eventPublisher).publishEvent(any(BookingEvent.class));
+    }
+
+    @Test
+    public void addBookingsWhenFieldsMissingReportValidationErrorsPerEntry() {
+        BookingDto missingItem = toDto(booking);
+        missingItem.setItemId(null);
+        BookingDto missingStart = toDto(booking);
+        missingStart.setStart(null);
+        BookingDto missingEnd = toDto(booking);
+        missingEnd.setEnd(null);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findAllWithOwnerByItemIds(List.of(itemId))).thenReturn(List.of(item));
+
+        List<BookingResultDto> results = bookingService.addBookings(Arrays.asList(null, missingItem, missingStart,
+                missingEnd), userId);
+
+        assertEquals(List.of(
+                BookingResultDto.failure("Booking must not be null"),
+                BookingResultDto.failure("Item id must not be null"),
+                BookingResultDto.failure("Start time must not be null"),
+                BookingResultDto.failure("End time must not be null")), results);
+        verify(bookingRepository).saveAll(List.of());
+        verifyNoInteractions(bookingIntervalIndex, eventPublisher);
+    }
+
+    @Test
+    public void addBookingsWhenMoreThanMaxBulkSizeThrowException() {
+        List<BookingDto> bookings = Collections.nCopies(BookingService.MAX_BULK_SIZE + 1, toDto(booking));
+
+        assertThrows(BookingValidationException.class, () -> bookingService.addBookings(bookings, userId));
+        verifyNoInteractions(userRepository, itemRepository, bookingRepository);
+    }
+
+    @Test
+    public void addBookingsWhenUserNotFoundThrowException() {
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> bookingService.addBookings(List.of(toDto(booking)), userId));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void exportBookingsWhenRoleIsOwnerPassEveryBookingToConsumer() {
+        Booking other = Booking.builder()
+                .bookingId(2L)
+                .item(item)
+                .user(user)
+                .status(Status.WAITING)
+                .startTime(now.plusDays(2))
+                .endTime(now.plusDays(3))
+                .build();
+        List<BookingDto> exported = new ArrayList<>();
+
+        when(bookingRepository.streamAllByOwner(ownerId)).thenReturn(Stream.of(booking, other));
+
+        assertEquals(2, bookingService.exportBookings(ownerId, BookingRole.OWNER, exported::add));
+        assertEquals(List.of(toDto(booking), toDto(other)), exported);
+        verify(userExistenceCache).checkExists(ownerId);
+        verify(bookingRepository, never()).streamAllByBooker(any());
+    }
+
+    @Test
+    public void exportBookingsWhenUserNotFoundThrowException() {
+        doThrow(new UserNotFoundException(userId)).when(userExistenceCache).checkExists(userId);
+
+        assertThrows(UserNotFoundException.class,
+                () -> bookingService.exportBookings(userId, BookingRole.BOOKER, booking -> { }));
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
     public void addBookingWhenBookerIsOwnerTheItemThrowException() {
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         assertThrows(BookingCreateException.class, () -> bookingService.addBooking(toDto(booking), ownerId));
     }
@@ -121,7 +258,7 @@ public class BookingServiceTest {
         item.setAvailable(false);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         assertThrows(ItemNotAvailableException.class, () -> bookingService.addBooking(toDto(booking), userId));
     }
@@ -132,35 +269,47 @@ public class BookingServiceTest {
         booking.setEndTime(LocalDateTime.now().plusHours(1));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         assertThrows(BookingTimeException.class, () -> bookingService.addBooking(toDto(booking), userId));
     }
 
+    @Test
+    public void addBookingWhenItemAlreadyBookedThrowException() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(bookingIntervalIndex.hasOverlap(itemId, booking.getStartTime(), booking.getEndTime())).thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.addBooking(toDto(booking), userId));
+    }
+
     @Test
     public void deleteBookingWhenInvokedMethodReturnBooking() {
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
 
         assertEquals(toDto(booking), bookingService.deleteBooking(bookingId, userId));
+        verify(bookingRepository).delete(booking);
+        verify(itemRepository).addBookingCount(itemId, -1);
+        verify(itemRepository).addApprovedBookingCount(itemId, -1);
     }
 
     @Test
     public void deleteBookingWhenUserIsNotTheOwnerTheBookingThrowException() {
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(NotOwnerException.class, () -> bookingService.deleteBooking(bookingId, ownerId));
     }
 
     @Test
     public void deleteBookingWhenBookingNotFoundThrowException() {
-        when(bookingRepository.findById(bookingId)).thenThrow(BookingNotFoundException.class);
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenThrow(BookingNotFoundException.class);
 
         assertThrows(BookingNotFoundException.class, () -> bookingService.deleteBooking(bookingId, userId));
     }
 
     @Test
     public void getBookingByIdWhenBookingNotFoundThrowException() {
-        when(bookingRepository.findById(bookingId)).thenThrow(BookingNotFoundException.class);
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenThrow(BookingNotFoundException.class);
 
         assertThrows(BookingNotFoundException.class, () -> bookingService.deleteBooking(bookingId, userId));
     }
@@ -174,15 +323,27 @@ public class BookingServiceTest {
 
     @Test
     public void setApproveWhenBookingAlreadyApprovedThrowException() {
+        when(bookingRepository.updateWaitingStatus(bookingId, ownerId, Status.APPROVED)).thenReturn(0);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(BookingAlreadyApprovedException.class, () -> bookingService.setApprove(ownerId, bookingId, true));
     }
 
+    @Test
+    public void setApproveWhenBookingNotWaitingThrowException() {
+        booking.setStatus(Status.CANCELED);
+
+        when(bookingRepository.updateWaitingStatus(bookingId, ownerId, Status.REJECTED)).thenReturn(0);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        assertThrows(BookingNotWaitingException.class, () -> bookingService.setApprove(ownerId, bookingId, false));
+    }
+
     @Test
     public void setApproveWhenUserNotTheOwnerTheItemThrowException() {
         booking.setStatus(Status.WAITING);
 
+        when(bookingRepository.updateWaitingStatus(bookingId, userId, Status.APPROVED)).thenReturn(0);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(NotOwnerException.class, () -> bookingService.setApprove(userId, bookingId, true));
@@ -190,33 +351,36 @@ public class BookingServiceTest {
 
     @Test
     public void setApproveWhenInvokedMethodReturnBooking() {
-        booking.setStatus(Status.WAITING);
-
+        when(bookingRepository.updateWaitingStatus(bookingId, ownerId, Status.APPROVED)).thenReturn(1);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         BookingDto foundBooking = bookingService.setApprove(ownerId, bookingId, true);
-        booking.setStatus(Status.APPROVED);
 
         assertEquals(toDto(booking), foundBooking);
+        verify(bookingRepository, never()).save(any());
+        verify(itemRepository).addApprovedBookingCount(itemId, 1);
     }
 
     @Test
     public void setApproveWhenBookingNotFoundThrowException() {
-        when(bookingRepository.findById(bookingId)).thenThrow(BookingNotFoundException.class);
+        when(bookingRepository.updateWaitingStatus(bookingId, ownerId, Status.APPROVED)).thenReturn(0);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
 
         assertThrows(BookingNotFoundException.class, () -> bookingService.setApprove(ownerId, bookingId, true));
     }
 
     @Test
     public void setApproveWhenApprovedFalseReturnBooking() {
-        booking.setStatus(Status.WAITING);
+        booking.setStatus(Status.REJECTED);
 
+        when(bookingRepository.updateWaitingStatus(bookingId, ownerId, Status.REJECTED)).thenReturn(1);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         BookingDto returnedBooking = bookingService.setApprove(ownerId, bookingId, false);
 
         assertEquals(toDto(booking), returnedBooking);
         assertEquals(Status.REJECTED, returnedBooking.getStatus());
+        verify(itemRepository, never()).addApprovedBookingCount(any(), anyLong());
     }
 
     @Test
@@ -225,8 +389,8 @@ public class BookingServiceTest {
         List<BookingDto> foundBookings = List.of(toDto(booking));
         requestBooking.setState("ALL");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByUserUserIdOrderByEndTimeDesc(any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.BOOKER), eq(BookingState.ALL), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForCurrentUser(requestBooking));
     }
@@ -237,9 +401,8 @@ public class BookingServiceTest {
         List<BookingDto> foundBookings = List.of(toDto(booking));
         requestBooking.setState("CURRENT");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc(any(),
-                any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.BOOKER), eq(BookingState.CURRENT), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForCurrentUser(requestBooking));
     }
@@ -259,8 +422,8 @@ public class BookingServiceTest {
         List<BookingDto> foundBookings = List.of(toDto(pastBooking));
         requestBooking.setState("Past");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.BOOKER), eq(BookingState.PAST), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForCurrentUser(requestBooking));
     }
@@ -280,8 +443,8 @@ public class BookingServiceTest {
         List<BookingDto> foundBookings = List.of(toDto(futureBooking));
         requestBooking.setState("Future");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByUserUserIdAndStartTimeIsAfterOrderByEndTimeDesc(any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.BOOKER), eq(BookingState.FUTURE), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForCurrentUser(requestBooking));
     }
@@ -301,8 +464,8 @@ public class BookingServiceTest {
         List<BookingDto> foundBookings = List.of(toDto(waitingBooking));
         requestBooking.setState("Waiting");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(any(), any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.BOOKER), eq(BookingState.WAITING), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForCurrentUser(requestBooking));
     }
@@ -322,18 +485,47 @@ public class BookingServiceTest {
         List<BookingDto> foundBookings = List.of(toDto(rejectedBooking));
         requestBooking.setState("REJECTED");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByUserUserIdAndStatusOrderByEndTimeDesc(any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.BOOKER), eq(BookingState.REJECTED), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForCurrentUser(requestBooking));
     }
 
+    @Test
+    public void getBookingForCurrentUserWhenCursorGivenSeekAfterCursor() {
+        BookingCursor cursor = BookingCursor.of(toDto(booking));
+        requestBooking.setState("ALL");
+        requestBooking.setFrom(20);
+        requestBooking.setCursor(cursor.encode());
+
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.BOOKER), eq(BookingState.ALL), any(), eq(cursor),
+                eq(PageRequest.of(0, 10)))).thenReturn(List.of());
+
+        assertEquals(List.of(), bookingService.getBookingForCurrentUser(requestBooking));
+    }
+
+    @Test
+    public void getBookingForCurrentUserWhenCursorNotValidThrowException() {
+        requestBooking.setState("ALL");
+        requestBooking.setCursor("not-a-cursor");
+
+        assertThrows(NotValidCursorException.class, () -> bookingService.getBookingForCurrentUser(requestBooking));
+    }
+
+    @Test
+    public void getBookingForCurrentUserWhenUserNotFoundThrowException() {
+        requestBooking.setState("ALL");
+
+        doThrow(new UserNotFoundException(userId)).when(userExistenceCache).checkExists(userId);
+
+        assertThrows(UserNotFoundException.class, () -> bookingService.getBookingForCurrentUser(requestBooking));
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     public void getBookingForCurrentUserWhenStateIsNotValidReturnOneBooking() {
         requestBooking.setState("UNKNOWN");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         assertThrows(NotValidStateException.class, () -> bookingService.getBookingForCurrentUser(requestBooking));
     }
 
@@ -344,8 +536,8 @@ public class BookingServiceTest {
         requestBooking.setState("ALL");
         requestBooking.setUserId(ownerId);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllBookingByOwnerId(any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.OWNER), eq(BookingState.ALL), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForOwner(requestBooking));
     }
@@ -357,9 +549,8 @@ public class BookingServiceTest {
         requestBooking.setState("CURRENT");
         requestBooking.setUserId(ownerId);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemUserUserIdAndStartTimeIsBeforeAndEndTimeIsAfterOrderByEndTimeDesc(any(),
-                any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.OWNER), eq(BookingState.CURRENT), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForOwner(requestBooking));
     }
@@ -380,8 +571,8 @@ public class BookingServiceTest {
         requestBooking.setState("Past");
         requestBooking.setUserId(ownerId);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.OWNER), eq(BookingState.PAST), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForOwner(requestBooking));
     }
@@ -402,8 +593,8 @@ public class BookingServiceTest {
         requestBooking.setState("Future");
         requestBooking.setUserId(ownerId);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemUserUserIdAndStartTimeIsAfterOrderByEndTimeDesc(any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.OWNER), eq(BookingState.FUTURE), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForOwner(requestBooking));
     }
@@ -424,8 +615,8 @@ public class BookingServiceTest {
         requestBooking.setState("Waiting");
         requestBooking.setUserId(ownerId);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemUserUserIdAndStartTimeIsAfterAndStatusOrderByEndTimeDesc(any(), any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.OWNER), eq(BookingState.WAITING), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForOwner(requestBooking));
     }
@@ -446,8 +637,8 @@ public class BookingServiceTest {
         requestBooking.setState("REJECTED");
         requestBooking.setUserId(ownerId);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemUserUserIdAndStatusOrderByEndTimeDesc(any(), any(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(any(), eq(BookingRole.OWNER), eq(BookingState.REJECTED), any(), any(), any()))
+                .thenReturn(bookings);
 
         assertEquals(foundBookings, bookingService.getBookingForOwner(requestBooking));
     }
@@ -457,8 +648,6 @@ public class BookingServiceTest {
         requestBooking.setState("UNKNOWN");
         requestBooking.setUserId(ownerId);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-
         assertThrows(NotValidStateException.class, () -> bookingService.getBookingForOwner(requestBooking));
     }
 }
\ No newline at end of file
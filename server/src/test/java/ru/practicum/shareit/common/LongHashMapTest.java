@@ -0,0 +1,79 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongHashMapTest {
+
+    @Test
+    public void putWhenKeyAbsentReturnNullAndStoreValue() {
+        LongHashMap<String> map = new LongHashMap<>();
+
+        assertNull(map.put(1L, "one"));
+        assertEquals("one", map.get(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void putWhenKeyPresentReplaceValueAndReturnPrevious() {
+        LongHashMap<String> map = new LongHashMap<>();
+        map.put(1L, "one");
+
+        assertEquals("one", map.put(1L, "uno"));
+        assertEquals("uno", map.get(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void getWhenKeyAbsentReturnNull() {
+        LongHashMap<String> map = new LongHashMap<>();
+        map.put(1L, "one");
+
+        assertNull(map.get(2L));
+        assertFalse(map.containsKey(2L));
+    }
+
+    @Test
+    public void computeIfAbsentWhenKeyPresentReturnExistingValue() {
+        LongHashMap<List<Long>> map = new LongHashMap<>();
+        List<Long> values = map.computeIfAbsent(7L, key -> new ArrayList<>());
+
+        assertSame(values, map.computeIfAbsent(7L, key -> new ArrayList<>()));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void putWhenManyKeysInsertedResizeAndKeepAllValues() {
+        LongHashMap<Long> map = new LongHashMap<>(2);
+
+        for (long key = -1000; key < 1000; key++) {
+            map.put(key * 1024, key);
+        }
+
+        assertEquals(2000, map.size());
+        for (long key = -1000; key < 1000; key++) {
+            assertEquals(key, map.get(key * 1024));
+        }
+    }
+
+    @Test
+    public void clearWhenInvokedMethodRemoveAllKeys() {
+        LongHashMap<String> map = new LongHashMap<>();
+        map.put(0L, "zero");
+        map.put(Long.MAX_VALUE, "max");
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0L));
+        assertFalse(map.containsKey(Long.MAX_VALUE));
+    }
+}
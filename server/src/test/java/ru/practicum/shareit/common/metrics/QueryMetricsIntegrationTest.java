@@ -0,0 +1,86 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@SpringBootTest
+@Sql(value = {"/set-up-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/set-up-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class QueryMetricsIntegrationTest {
+
+    private static final String BOOKING_URI = "/bookings/{bookingId}";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @SneakyThrows
+    public void getBookingByIdWhenInvokedRecordStatementsAndEntityLoadsForEndpoint() {
+        double statementsBefore = recordedAmount(QueryMetrics.STATEMENTS);
+        double loadsBefore = recordedAmount(QueryMetrics.ENTITY_LOADS);
+        entityManager.clear();
+
+        mvc.perform(get("/bookings/{bookingId}", 1L)
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk());
+
+        assertEquals(1, recordedAmount(QueryMetrics.STATEMENTS) - statementsBefore);
+        assertTrue(recordedAmount(QueryMetrics.ENTITY_LOADS) - loadsBefore >= 3);
+        assertTrue(meterRegistry.get(QueryMetrics.ENTITIES_LOADED)
+                .tag("entity", "ru.practicum.shareit.booking.model.Booking")
+                .counter()
+                .count() >= 1);
+    }
+
+    @Test
+    @SneakyThrows
+    public void prometheusWhenServiceInvokedExposeServiceLatencyHistogram() {
+        mvc.perform(get("/bookings/{bookingId}", 1L)
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket{class=\""
+                        + "ru.practicum.shareit.booking.service.BookingServiceImpl\"")))
+                .andExpect(content().string(containsString("method=\"getBookingById\"")))
+                .andExpect(content().string(containsString("shareit_jdbc_statements_count{method=\"GET\","
+                        + "uri=\"" + BOOKING_URI + "\"")))
+                .andExpect(content().string(containsString("shareit_hibernate_entities_loaded_total")));
+    }
+
+    private double recordedAmount(String name) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tag("method", "GET")
+                .tag("uri", BOOKING_URI)
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
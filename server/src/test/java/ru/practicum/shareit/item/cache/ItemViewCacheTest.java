@@ -0,0 +1,204 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.event.CommentEvent;
+import ru.practicum.shareit.item.event.ItemBatchEvent;
+import ru.practicum.shareit.item.event.ItemEvent;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemViewCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private ItemViewCache cache;
+    private LocalDateTime now;
+    private Long ownerId;
+    private Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemViewCache(meterRegistry, 2);
+        now = LocalDateTime.now();
+        ownerId = 1L;
+        userId = 2L;
+    }
+
+    @Test
+    public void getWhenItemNotCachedReturnEmptyAndCountMiss() {
+        assertEquals(Optional.empty(), cache.get(1L, userId, now));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void getWhenItemCachedReturnItemAndCountHit() {
+        ItemBookingDto view = view(1L, null, null);
+
+        cache.put(view, userId, cache.generation(1L));
+
+        assertEquals(Optional.of(view), cache.get(1L, userId, now));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    public void getWhenOwnerViewCachedReturnViewWithoutBookingsForOtherUser() {
+        BookingDto last = booking(1L, now.minusDays(2));
+        BookingDto next = booking(2L, now.plusDays(1));
+
+        cache.put(view(1L, last, next), ownerId, cache.generation(1L));
+
+        ItemBookingDto publicView = cache.get(1L, userId, now).orElseThrow();
+        ItemBookingDto ownerView = cache.get(1L, ownerId, now).orElseThrow();
+
+        assertNull(publicView.getLastBooking());
+        assertNull(publicView.getNextBooking());
+        assertEquals(last, ownerView.getLastBooking());
+        assertEquals(next, ownerView.getNextBooking());
+    }
+
+    @Test
+    public void getWhenPublicViewCachedReturnEmptyForOwner() {
+        cache.put(view(1L, null, null), userId, cache.generation(1L));
+
+        assertEquals(Optional.empty(), cache.get(1L, ownerId, now));
+    }
+
+    @Test
+    public void getWhenNextBookingStartedReturnEmptyForOwner() {
+        cache.put(view(1L, null, booking(2L, now.plusHours(1))), ownerId, cache.generation(1L));
+
+        assertTrue(cache.get(1L, ownerId, now).isPresent());
+        assertEquals(Optional.empty(), cache.get(1L, ownerId, now.plusHours(2)));
+        assertTrue(cache.get(1L, userId, now.plusHours(2)).isPresent());
+    }
+
+    @Test
+    public void putWhenCacheInvalidatedDuringLoadDoNotStoreView() {
+        long generation = cache.generation(1L);
+
+        cache.onCommentEvent(new CommentEvent(1L, 1L));
+        cache.put(view(1L, null, null), userId, generation);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void putWhenOtherItemInvalidatedDuringLoadStoreView() {
+        long generation = cache.generation(1L);
+
+        cache.onCommentEvent(new CommentEvent(1L, 2L));
+        cache.put(view(1L, null, null), userId, generation);
+
+        assertTrue(cache.get(1L, userId, now).isPresent());
+    }
+
+    @Test
+    public void getWhenReturnedViewChangedKeepCachedView() {
+        BookingDto next = booking(2L, now.plusDays(1));
+        ItemBookingDto view = view(1L, null, next);
+
+        cache.put(view, ownerId, cache.generation(1L));
+        view.setName("Пила");
+        cache.get(1L, ownerId, now).orElseThrow().getNextBooking().setId(3L);
+        cache.get(1L, userId, now).orElseThrow().setDescription("Сломанная дрель");
+
+        ItemBookingDto ownerView = cache.get(1L, ownerId, now).orElseThrow();
+        assertEquals("Дрель", ownerView.getName());
+        assertEquals(2L, ownerView.getNextBooking().getId());
+        assertEquals("Простая дрель", cache.get(1L, userId, now).orElseThrow().getDescription());
+    }
+
+    @Test
+    public void onBookingEventWhenItemCachedEvictItem() {
+        cache.put(view(1L, null, null), userId, cache.generation(1L));
+        cache.put(view(2L, null, null), userId, cache.generation(2L));
+
+        cache.onBookingEvent(new BookingEvent(1L, 1L, now, now.plusDays(1), Status.WAITING, false));
+
+        assertEquals(Optional.empty(), cache.get(1L, userId, now));
+        assertTrue(cache.get(2L, userId, now).isPresent());
+    }
+
+    @Test
+    public void onItemBatchEventWhenItemsCachedEvictBatchItems() {
+        cache.put(view(1L, null, null), userId, cache.generation(1L));
+        cache.put(view(2L, null, null), userId, cache.generation(2L));
+
+        cache.onItemBatchEvent(new ItemBatchEvent(List.of(new ItemEvent(1L, "Отвертка", "Отвертка", true, null, false),
+                new ItemEvent(3L, "Пила", "Пила", true, null, false))));
+
+        assertEquals(Optional.empty(), cache.get(1L, userId, now));
+        assertTrue(cache.get(2L, userId, now).isPresent());
+    }
+
+    @Test
+    public void onUserEventWhenItemsCachedClearCache() {
+        cache.put(view(1L, null, null), userId, cache.generation(1L));
+        cache.put(view(2L, null, null), userId, cache.generation(2L));
+
+        cache.onUserEvent(UserEvent.updated(ownerId));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void onUserEventWhenUserCreatedKeepCache() {
+        cache.put(view(1L, null, null), userId, cache.generation(1L));
+
+        cache.onUserEvent(UserEvent.created(3L));
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void putWhenCacheIsFullEvictLeastRecentlyUsedItem() {
+        cache.put(view(1L, null, null), userId, cache.generation(1L));
+        cache.put(view(2L, null, null), userId, cache.generation(2L));
+        cache.get(1L, userId, now);
+        cache.put(view(3L, null, null), userId, cache.generation(3L));
+
+        assertEquals(2, cache.size());
+        assertEquals(Optional.empty(), cache.get(2L, userId, now));
+        assertTrue(cache.get(1L, userId, now).isPresent());
+        assertEquals(1.0, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    private ItemBookingDto view(Long itemId, BookingDto last, BookingDto next) {
+        UserDto owner = new UserDto(ownerId, "user", "user@mail.ru");
+
+        return ItemBookingDto.builder()
+                .id(itemId)
+                .name("Дрель")
+                .user(owner)
+                .description("Простая дрель")
+                .available(true)
+                .lastBooking(last)
+                .nextBooking(next)
+                .comments(List.of())
+                .build();
+    }
+
+    private BookingDto booking(Long bookingId, LocalDateTime start) {
+        BookingDto booking = new BookingDto();
+        booking.setId(bookingId);
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(1));
+
+        return booking;
+    }
+}
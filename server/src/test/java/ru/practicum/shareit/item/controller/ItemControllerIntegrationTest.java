@@ -8,15 +8,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.index.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.persistence.EntityManager;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
@@ -43,6 +47,15 @@ public class ItemControllerIntegrationTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ItemViewCache itemViewCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private long userId;
     private long itemId;
     private long newUserId;
@@ -57,12 +70,14 @@ public class ItemControllerIntegrationTest {
 
     @BeforeEach
     public void setUp() {
+        itemSearchIndex.rebuild();
+        itemViewCache.clear();
         unknownUserId = 100L;
         unknownItemId = 100L;
         userId = 1L;
         newUserId = 2L;
         itemId = 1L;
-        commentId = 1L;
+        commentId = 100L;
 
         userDto = UserDto.builder()
                 .id(userId)
@@ -104,6 +119,68 @@ public class ItemControllerIntegrationTest {
                 .build();
     }
 
+    @Test
+    @SneakyThrows
+    public void importItemsWhenNdjsonGivenSaveValidItemsAndReportInvalid() {
+        String items = "{\"name\":\"Дрель\",\"description\":\"Ударная дрель\",\"available\":true}\n" +
+                "{\"name\":\"Лестница\",\"available\":true}\n" +
+                "{\"name\":\"Пылесос\",\"description\":\"Моющий пылесос\",\"available\":false}\n";
+
+        mvc.perform(post(URL + "/import")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(items)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.errors.length()", is(1)))
+                .andExpect(jsonPath("$.errors[0].entry", is(1)))
+                .andExpect(jsonPath("$.errors[0].error", is("Description is blank")));
+
+        mvc.perform(get(URL)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(5)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void importItemsWhenJsonArrayGivenSaveItems() {
+        String items = "[{\"name\":\"Дрель\",\"description\":\"Ударная дрель\",\"available\":true}," +
+                "{\"name\":\"Пылесос\",\"description\":\"Моющий пылесос\",\"available\":false}]";
+
+        mvc.perform(post(URL + "/import")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(items)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.errors.length()", is(0)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void importItemsWhenPayloadMalformedReturnStatusIsBadRequest() {
+        mvc.perform(post(URL + "/import")
+                        .header("X-Sharer-User-Id", userId)
+                        .content("[{\"name\":\"Дрель\",")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    public void importItemsWhenUserNotFoundReturnStatusIsNotFound() {
+        mvc.perform(post(URL + "/import")
+                        .header("X-Sharer-User-Id", unknownUserId)
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @SneakyThrows
     public void getItemByIdWhenMethodInvokedReturnItem() {
@@ -117,6 +194,34 @@ public class ItemControllerIntegrationTest {
                 .andExpect(jsonPath("$.available", is(itemBookingDto.getAvailable())));
     }
 
+    @Test
+    @SneakyThrows
+    public void getItemByIdWhenMethodInvokedReturnAggregates() {
+        mvc.perform(get(URL + "/{itemId}", itemId)
+                        .header("X-Sharer-User-id", newUserId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingCount", is(4)))
+                .andExpect(jsonPath("$.approvedBookingCount", is(3)))
+                .andExpect(jsonPath("$.commentCount", is(1)))
+                .andExpect(jsonPath("$.rating", is(1.0)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getItemByIdWhenEtagMatchesReturnStatusNotModified() {
+        String etag = mvc.perform(get(URL + "/{itemId}", itemId)
+                        .header("X-Sharer-User-id", userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get(URL + "/{itemId}", itemId)
+                        .header("X-Sharer-User-id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @SneakyThrows
     public void getItemByIdWhenItemNotFoundReturnStatusNotFound() {
@@ -365,6 +470,27 @@ public class ItemControllerIntegrationTest {
                 .andExpect(jsonPath("$.text", is(commentDto.getText())));
     }
 
+    @Test
+    @SneakyThrows
+    public void addCommentWhenInvokedMethodUpdateItemAggregates() {
+        commentDto.setRating(5);
+
+        mvc.perform(post(URL + "/{itemId}/comment", itemId)
+                        .header("X-Sharer-User-id", newUserId)
+                        .content(mapper.writeValueAsString(commentDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        entityManager.clear();
+
+        mvc.perform(get(URL + "/{itemId}", itemId)
+                        .header("X-Sharer-User-id", newUserId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount", is(2)))
+                .andExpect(jsonPath("$.rating", is(3.0)));
+    }
+
     @Test
     @SneakyThrows
     public void addCommentWhenUserIsOwnerTheItemReturnStatusIs() {
@@ -390,4 +516,18 @@ public class ItemControllerIntegrationTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @SneakyThrows
+    public void addCommentWhenUserRentedOnlyAnotherItemReturnStatusIsBadRequest() {
+        long itemWithoutBookings = 2L;
+
+        mvc.perform(post(URL + "/{itemId}/comment", itemWithoutBookings)
+                        .header("X-Sharer-User-id", newUserId)
+                        .content(mapper.writeValueAsString(commentDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.event.ItemBatchEvent;
+import ru.practicum.shareit.item.event.ItemEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index.onItemEvent(new ItemEvent(1L, "Отвертка", "Простая отвертка", true, null, false));
+        index.onItemEvent(new ItemEvent(2L, "Топор", "Простой топор для отвертки дров", true, null, false));
+        index.onItemEvent(new ItemEvent(3L, "Пила", "Бензопила", false, null, false));
+    }
+
+    @Test
+    public void onItemBatchEventWhenItemsSavedIndexAllItems() {
+        index.onItemBatchEvent(new ItemBatchEvent(List.of(
+                new ItemEvent(4L, "Дрель", "Ударная дрель", true, null, false),
+                new ItemEvent(1L, "Отвертка крестовая", "Простая отвертка", true, null, false))));
+
+        assertEquals(List.of(4L), index.search("дрель", true, 0, 10));
+        assertEquals(List.of(1L), index.search("крестовая", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenTextInDifferentCaseReturnItem() {
+        assertEquals(List.of(1L), index.search("оТВЕРТКА", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenTextIsPrefixReturnItemsMatchedByNameFirst() {
+        assertEquals(List.of(1L, 2L), index.search("отв", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenTextIsInsideWordReturnItem() {
+        assertEquals(List.of(3L), index.search("пил", false, 0, 10));
+        assertEquals(List.of(1L, 2L), index.search("ертк", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenItemsUpdatedConcurrentlyKeepEveryItem() throws Exception {
+        int threads = 8;
+        int updates = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (long itemId = 10; itemId < 10 + threads; itemId++) {
+                long id = itemId;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < updates; i++) {
+                        index.onItemEvent(new ItemEvent(id, "Лестница", "Складная", true, null, i % 2 == 0));
+                    }
+
+                    index.onItemEvent(new ItemEvent(id, "Лестница", "Складная", true, null, false));
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(LongStream.range(10, 10 + threads).boxed().collect(Collectors.toList()),
+                index.search("лестн", true, 0, 100));
+    }
+
+    @Test
+    public void searchWhenSeveralWordsReturnItemsContainingAllWords() {
+        assertEquals(List.of(2L), index.search("простой топор", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenTrigramsMatchButTextIsNotSubstringReturnEmptyList() {
+        index.onItemEvent(new ItemEvent(4L, "abcxbcd", "abcxbcd", true, null, false));
+
+        assertEquals(List.of(), index.search("abcd", true, 0, 10));
+        assertEquals(List.of(4L), index.search("cxbc", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenTokenIsLongReturnItemBySubstringFromMiddle() {
+        String description = "x".repeat(1000) + "дрель" + "y".repeat(1000);
+        index.onItemEvent(new ItemEvent(4L, "Инструмент", description, true, null, false));
+
+        assertEquals(List.of(4L), index.search("xxдрельyy", true, 0, 10));
+        assertEquals(List.of(4L), index.search("ль", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenItemNotAvailableReturnEmptyList() {
+        assertEquals(List.of(), index.search("бенз", true, 0, 10));
+        assertEquals(List.of(3L), index.search("бенз", false, 0, 10));
+    }
+
+    @Test
+    public void searchWhenOffsetAndLimitGivenReturnPage() {
+        assertEquals(List.of(2L), index.search("прост", true, 1, 1));
+    }
+
+    @Test
+    public void searchWhenTextHasNoWordsReturnEmptyList() {
+        assertEquals(List.of(), index.search("!!!", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenItemUpdatedReturnItemByNewName() {
+        index.onItemEvent(new ItemEvent(1L, "Дрель", "Простая дрель", true, null, false));
+
+        assertEquals(List.of(2L), index.search("отвертк", true, 0, 10));
+        assertEquals(List.of(1L), index.search("дрель", true, 0, 10));
+    }
+
+    @Test
+    public void searchWhenItemRemovedReturnEmptyList() {
+        index.onItemEvent(new ItemEvent(1L, "Отвертка", "Простая отвертка", true, null, true));
+
+        assertEquals(List.of(2L), index.search("отвертк", true, 0, 10));
+    }
+
+    @Test
+    public void rebuildWhenInvokedMethodReplaceItems() {
+        when(itemRepository.findAllDocuments()).thenReturn(List.of(new ItemDocument(4L, "Дрель", "Дрель", true)));
+
+        index.rebuild();
+
+        assertEquals(List.of(), index.search("отвертка", true, 0, 10));
+        assertEquals(List.of(4L), index.search("дрель", true, 0, 10));
+    }
+}
@@ -8,6 +8,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.index.ItemDocument;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemResponseDto;
+
+import javax.persistence.EntityManager;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -22,6 +28,9 @@ public class ItemRepositoryIntegrationTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private long userId;
     private int amountItems;
     private PageRequest defaultPageRequest;
@@ -58,60 +67,93 @@ public class ItemRepositoryIntegrationTest {
     }
 
     @Test
-    public void findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCaseWhenMethodInvokedReturnOneItem() {
-        assertEquals(1, itemRepository
-                .findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(true,
-                        "отвертка", "отвертка", defaultPageRequest).size());
+    public void findAllWithOwnerByItemIdsWhenInvokedMethodReturnTwoItems() {
+        List<Item> items = itemRepository.findAllWithOwnerByItemIds(List.of(1L, 3L));
+
+        assertEquals(2, items.size());
+        assertEquals(userId, items.get(0).getUser().getUserId());
+    }
+
+    @Test
+    public void findAllWithOwnerByItemIdsWhenItemsNotFoundReturnEmptyList() {
+        assertEquals(0, itemRepository.findAllWithOwnerByItemIds(List.of(100L)).size());
+    }
+
+    @Test
+    public void findAllDtosByItemIdsWhenInvokedMethodReturnItemsWithOwner() {
+        List<ItemDto> items = itemRepository.findAllDtosByItemIds(List.of(1L, 3L));
+
+        assertEquals(2, items.size());
+        assertEquals(userId, items.get(0).getUser().getId());
+        assertEquals("mail@mail.ru", items.get(0).getUser().getEmail());
     }
 
     @Test
-    public void findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCaseWhenOnlyDescriptionMatchReturnTwoItems() {
-        assertEquals(2, itemRepository
-                .findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(true,
-                        "прост", "прост", defaultPageRequest).size());
+    public void addBookingCountWhenInvokedMethodUpdateOnlyThatItem() {
+        assertEquals(1, itemRepository.addBookingCount(2L, 3));
+        entityManager.clear();
+
+        assertEquals(3, itemRepository.findById(2L).orElseThrow().getBookingCount());
+        assertEquals(4, itemRepository.findById(1L).orElseThrow().getBookingCount());
     }
 
     @Test
-    public void findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCaseWhenItemsNotFoundReturnEmptyList() {
-        assertEquals(0, itemRepository
-                .findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(true,
-                        "Бу", "Бу", defaultPageRequest).size());
+    public void addCommentWhenRatedUpdateCommentAndRatingCounters() {
+        itemRepository.addComment(1L, 5, 1);
+        entityManager.clear();
+
+        Item item = itemRepository.findById(1L).orElseThrow();
+        assertEquals(2, item.getCommentCount());
+        assertEquals(6, item.getRatingSum());
+        assertEquals(2, item.getRatingCount());
     }
 
     @Test
-    public void findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCaseWhenAvailableFalseReturnOneItem() {
-        assertEquals(1, itemRepository
-                .findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(false,
-                        "Бенз", "Бенз", defaultPageRequest).size());
+    public void findAllDocumentsWhenInvokedMethodReturnThreeDocuments() {
+        List<ItemDocument> documents = itemRepository.findAllDocuments();
+
+        assertEquals(amountItems, documents.size());
     }
 
     @Test
-    public void findAllByRequestIdWhenInvokedMethodReturnTwoItems() {
-        assertEquals(2, itemRepository.findAllByRequestId(1L).size());
+    public void findAllResponsesByRequestIdWhenInvokedMethodReturnTwoItems() {
+        assertEquals(2, itemRepository.findAllResponsesByRequestId(1L).size());
     }
 
     @Test
-    public void findAllByRequestIdWhenItemsNotFoundReturnEmptyList() {
+    public void findAllResponsesByRequestIdWhenItemsNotFoundReturnEmptyList() {
         long unknownRequestId = 100L;
 
-        assertEquals(0, itemRepository.findAllByRequestId(unknownRequestId).size());
+        assertEquals(0, itemRepository.findAllResponsesByRequestId(unknownRequestId).size());
     }
 
     @Test
-    public void findAllByRequestsWhenItemsNotFoundByListReturnEmptyList() {
+    public void findAllResponsesByRequestsWhenItemsNotFoundByListReturnEmptyList() {
         long unknownRequestId = 100L;
 
         List<Long> requests = List.of(unknownRequestId);
 
-        assertEquals(0, itemRepository.findAllByRequests(requests).size());
+        assertEquals(0, itemRepository.findAllResponsesByRequests(requests).size());
     }
 
     @Test
-    public void findAllByRequestsWhenTwoItemsFoundReturnTwoItems() {
+    public void findAllResponsesByRequestsWhenTwoItemsFoundReturnTwoItems() {
         long requestId = 1L;
 
         List<Long> requests = List.of(requestId);
 
-        assertEquals(2, itemRepository.findAllByRequests(requests).size());
+        assertEquals(2, itemRepository.findAllResponsesByRequests(requests).size());
+    }
+
+    @Test
+    public void findAllResponsesByRequestsWhenInvokedMethodReturnResponseFields() {
+        List<ItemResponseDto> responses = itemRepository.findAllResponsesByRequests(List.of(1L));
+
+        assertEquals(2, responses.size());
+        responses.forEach(response -> {
+            Item item = itemRepository.findById(response.getId()).orElseThrow();
+            assertEquals(new ItemResponseDto(item.getItemId(), item.getName(), item.getDescription(),
+                    item.getRequestId(), item.getAvailable()), response);
+        });
     }
-}
\ No newline at end of file
+}
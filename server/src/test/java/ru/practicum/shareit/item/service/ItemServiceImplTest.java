@@ -6,21 +6,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repostitory.BookingRepository;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.event.ItemBatchEvent;
 import ru.practicum.shareit.item.exception.CommentCreateException;
+import ru.practicum.shareit.item.exception.ItemImportException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.index.ItemSearchIndex;
 import ru.practicum.shareit.common.NotOwnerException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.RequestItem;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
@@ -28,11 +36,13 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.booking.dto.BookingDtoMapper.toDto;
 import static ru.practicum.shareit.item.dto.CommentDtoMapper.toComment;
@@ -57,6 +67,18 @@ public class ItemServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private ItemViewCache itemViewCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @InjectMocks
     private ItemServiceImpl service;
 
@@ -83,7 +105,7 @@ public class ItemServiceImplTest {
         ItemBookingDto foundItem = service.getItemById(itemId, userId);
 
         assertEquals(itemBooking, foundItem);
-        verify(bookingRepository).findAllByItemItemId(itemId);
+        verify(bookingRepository).findLastAndNextBookings(eq(List.of(itemId)), any());
         verify(commentRepository).findAllCommentByItemItemId(itemId);
     }
 
@@ -93,22 +115,40 @@ public class ItemServiceImplTest {
         User currentUser = toUser(userDto);
 
         Booking lastBooking = new Booking(1L, currentUser, item, LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1), Status.APPROVED);
+                LocalDateTime.now().minusDays(1), Status.APPROVED, 0);
         Booking nextBooking = new Booking(2L, currentUser, item, LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(2), Status.APPROVED);
+                LocalDateTime.now().plusDays(2), Status.APPROVED, 0);
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, toUser(userDto))));
-        when(bookingRepository.findAllByItemItemId(itemId)).thenReturn(List.of(lastBooking, nextBooking));
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), any())).thenReturn(List.of(lastBooking, nextBooking));
 
         ItemBookingDto foundItem = service.getItemById(itemId, userId);
         itemBooking.setLastBooking(toDto(lastBooking));
         itemBooking.setNextBooking(toDto(nextBooking));
 
         assertEquals(itemBooking, foundItem);
-        verify(bookingRepository).findAllByItemItemId(itemId);
+        verify(bookingRepository).findLastAndNextBookings(eq(List.of(itemId)), any());
         verify(commentRepository).findAllCommentByItemItemId(itemId);
     }
 
+    @Test
+    public void getItemByIdWhenItemFoundPutItemToCache() {
+        when(itemViewCache.generation(itemId)).thenReturn(3L);
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, toUser(userDto))));
+
+        ItemBookingDto foundItem = service.getItemById(itemId, userId);
+
+        verify(itemViewCache).put(foundItem, userId, 3L);
+    }
+
+    @Test
+    public void getItemByIdWhenItemInCacheReturnItemWithoutQueries() {
+        when(itemViewCache.get(eq(itemId), eq(userId), any())).thenReturn(Optional.of(itemBooking));
+
+        assertEquals(itemBooking, service.getItemById(itemId, userId));
+        verifyNoInteractions(itemRepository, bookingRepository, commentRepository);
+    }
+
     @Test
     public void getItemByIdWhenItemNotExistsThrowException() {
         when(itemRepository.findById(itemId)).thenThrow(ItemNotFoundException.class);
@@ -122,9 +162,9 @@ public class ItemServiceImplTest {
         User currentUser = toUser(userDto);
 
         Booking lastBooking = new Booking(1L, currentUser, item, LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1), Status.APPROVED);
+                LocalDateTime.now().minusDays(1), Status.APPROVED, 0);
         Booking nextBooking = new Booking(2L, currentUser, item, LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(2), Status.APPROVED);
+                LocalDateTime.now().plusDays(2), Status.APPROVED, 0);
         Comment comment = new Comment(1L, currentUser, 1, "text", LocalDateTime.now().minusDays(1), item);
         List<Booking> bookings = List.of(lastBooking, nextBooking);
         List<Comment> comments = List.of(comment);
@@ -133,7 +173,7 @@ public class ItemServiceImplTest {
         itemBooking.setNextBooking(toDto(nextBooking));
         itemBooking.setComments(toDto(comments));
 
-        when(bookingRepository.findAllByItemItemId(itemId)).thenReturn(bookings);
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), any())).thenReturn(bookings);
         when(commentRepository.findAllCommentByItemItemId(itemId)).thenReturn(comments);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, currentUser)));
 
@@ -146,7 +186,7 @@ public class ItemServiceImplTest {
         User currentUser = toUser(userDto);
 
         Booking lastBooking = new Booking(1L, currentUser, item, LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1), Status.APPROVED);
+                LocalDateTime.now().minusDays(1), Status.APPROVED, 0);
 
         Comment comment = new Comment(1L, currentUser, 1, "text", LocalDateTime.now().minusDays(1), item);
         List<Booking> bookings = List.of(lastBooking);
@@ -155,7 +195,7 @@ public class ItemServiceImplTest {
         itemBooking.setLastBooking(toDto(lastBooking));
         itemBooking.setComments(toDto(comments));
 
-        when(bookingRepository.findAllByItemItemId(itemId)).thenReturn(bookings);
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), any())).thenReturn(bookings);
         when(commentRepository.findAllCommentByItemItemId(itemId)).thenReturn(comments);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, currentUser)));
 
@@ -168,15 +208,15 @@ public class ItemServiceImplTest {
         User currentUser = toUser(userDto);
 
         Booking lastBooking = new Booking(1L, currentUser, item, LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1), Status.APPROVED);
+                LocalDateTime.now().minusDays(1), Status.APPROVED, 0);
         Booking nextBooking = new Booking(2L, currentUser, item, LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(2), Status.APPROVED);
+                LocalDateTime.now().plusDays(2), Status.APPROVED, 0);
         List<Booking> bookings = List.of(lastBooking, nextBooking);
 
         itemBooking.setLastBooking(toDto(lastBooking));
         itemBooking.setNextBooking(toDto(nextBooking));
 
-        when(bookingRepository.findAllByItemItemId(itemId)).thenReturn(bookings);
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), any())).thenReturn(bookings);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, currentUser)));
 
         assertEquals(itemBooking, service.getItemById(itemId, userId));
@@ -205,9 +245,9 @@ public class ItemServiceImplTest {
         RequestItem requestItem = RequestItem.of(1L, 0, 10, "text");
         PageRequest pageRequest = PageRequest.of(requestItem.getFrom(), requestItem.getSize());
         Booking lastBooking = new Booking(1L, currentUser, item, LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1), Status.APPROVED);
+                LocalDateTime.now().minusDays(1), Status.APPROVED, 0);
         Booking nextBooking = new Booking(2L, currentUser, item, LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(2), Status.APPROVED);
+                LocalDateTime.now().plusDays(2), Status.APPROVED, 0);
         Comment comment = new Comment(1L, currentUser, 1, "text", LocalDateTime.now().minusDays(1), item);
 
         List<Booking> bookings = List.of(lastBooking, nextBooking);
@@ -220,7 +260,7 @@ public class ItemServiceImplTest {
         List<Item> items = List.of(toItem(itemBooking, toUser(userDto)));
         List<ItemBookingDto> itemsDto = List.of(itemBooking);
 
-        when(bookingRepository.findAllByItems(items)).thenReturn(bookings);
+        when(bookingRepository.findLastAndNextBookings(eq(List.of(itemId)), any())).thenReturn(bookings);
         when(commentRepository.findAllByItems(items)).thenReturn(comments);
         when(itemRepository.findAllByUserUserId(userId, pageRequest)).thenReturn(items);
 
@@ -247,7 +287,6 @@ public class ItemServiceImplTest {
         newItem.setName("name");
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, toUser(userDto))));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(toUser(userDto)));
 
         ItemDto updatedItem = service.updateItem(newItem, userId, itemId);
 
@@ -262,7 +301,6 @@ public class ItemServiceImplTest {
         newItem.setDescription("description");
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, toUser(userDto))));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(toUser(userDto)));
 
         ItemDto updatedItem = service.updateItem(newItem, userId, itemId);
 
@@ -277,7 +315,6 @@ public class ItemServiceImplTest {
         newItem.setAvailable(false);
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, toUser(userDto))));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(toUser(userDto)));
 
         ItemDto updatedItem = service.updateItem(newItem, userId, itemId);
 
@@ -292,7 +329,7 @@ public class ItemServiceImplTest {
         ItemDto newItem = new ItemDto();
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, toUser(userDto))));
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        doThrow(new UserNotFoundException(userId)).when(userExistenceCache).checkExists(userId);
 
         assertThrows(UserNotFoundException.class, () -> service.updateItem(newItem, userId, itemId));
         verify(itemRepository, never()).save(toItem(newItem, toUser(userDto)));
@@ -312,12 +349,9 @@ public class ItemServiceImplTest {
     @Test
     public void updateItemWhenUserIsNotOwnerTheItemThrowException() {
         long userId = 2L;
-        User newUser = new User();
-        newUser.setUserId(userId);
         ItemDto newItem = new ItemDto();
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemBooking, toUser(userDto))));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(newUser));
 
         assertThrows(NotOwnerException.class, () -> service.updateItem(newItem, userId, itemId));
         verify(itemRepository, never()).save(toItem(newItem, toUser(userDto)));
@@ -345,8 +379,63 @@ public class ItemServiceImplTest {
     }
 
     @Test
-    public void deleteItemWhenMethodInvokedReturnDeletedItem() {
+    public void importItemsWhenEntriesExceedBatchSaveInBatchesAndReportInvalidEntries() {
+        List<ItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            items.add(new ItemDto(itemId, "Стремянка " + i, null, "Высокая стремянка", true, null));
+        }
+        items.add(1, new ItemDto(null, " ", null, "Без названия", true, null));
+
         when(userRepository.findById(userId)).thenReturn(Optional.of(toUser(userDto)));
+        when(itemRepository.saveBatch(any())).thenAnswer(invocation -> new ArrayList<>(invocation.<List<Item>>getArgument(0)));
+
+        ItemImportResultDto result = service.importItems(items.iterator(), userId);
+
+        assertEquals(501, result.getImported());
+        assertEquals(List.of(new ItemImportErrorDto(1, "Name is blank")), result.getErrors());
+        verify(itemRepository).saveBatch(argThat(batch -> batch.size() == 500
+                && batch.stream().allMatch(item -> item.getItemId() == null)));
+        verify(eventPublisher, times(2)).publishEvent(any(ItemBatchEvent.class));
+        verify(itemRepository, never()).save(any());
+    }
+
+    @Test
+    public void importItemsWhenEntryCanNotBeReadThrowException() {
+        Iterator<ItemDto> items = List.of(itemDto).iterator();
+        Iterator<ItemDto> brokenItems = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public ItemDto next() {
+                if (items.hasNext()) {
+                    return items.next();
+                }
+                throw new IllegalStateException("Unexpected end-of-input");
+            }
+        };
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(toUser(userDto)));
+
+        ItemImportException exception = assertThrows(ItemImportException.class,
+                () -> service.importItems(brokenItems, userId));
+
+        assertEquals("Import stopped at entry 1, 0 items imported: Unexpected end-of-input", exception.getMessage());
+        verify(itemRepository, never()).saveBatch(any());
+    }
+
+    @Test
+    public void importItemsWhenUserNotFoundThrowException() {
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> service.importItems(List.of(itemDto).iterator(), userId));
+        verify(itemRepository, never()).saveBatch(any());
+    }
+
+    @Test
+    public void deleteItemWhenMethodInvokedReturnDeletedItem() {
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemDto, toUser(userDto))));
 
         assertEquals(itemDto, service.deleteItem(itemId, userId));
@@ -356,10 +445,7 @@ public class ItemServiceImplTest {
     @Test
     public void deleteItemWhenUserIsNotOwnerTheItemThrowException() {
         long userId = 2L;
-        User newUser = new User();
-        newUser.setUserId(userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(newUser));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(toItem(itemDto, toUser(userDto))));
 
         assertThrows(NotOwnerException.class, () -> service.deleteItem(itemId, userId));
@@ -370,7 +456,7 @@ public class ItemServiceImplTest {
     public void deleteItemWhenUserNotFoundThrowException() {
         long userId = 0L;
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        doThrow(new UserNotFoundException(userId)).when(userExistenceCache).checkExists(userId);
 
         assertThrows(UserNotFoundException.class, () -> service.deleteItem(itemId, userId));
         verify(itemRepository, never()).delete(any());
@@ -380,7 +466,6 @@ public class ItemServiceImplTest {
     public void deleteItemWhenItemNotFoundThrowException() {
         long userId = 0L;
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(toUser(userDto)));
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class, () -> service.deleteItem(itemId, userId));
@@ -390,23 +475,29 @@ public class ItemServiceImplTest {
     @Test
     public void searchItemWhenInvokedMethodReturnOneItem() {
         RequestItem requestItem = RequestItem.of(1L, 0, 10, "text");
-        PageRequest pageRequest = PageRequest.of(requestItem.getFrom(), requestItem.getSize());
         List<ItemDto> items = List.of(itemDto);
 
-        when(itemRepository.findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(true,
-                requestItem.getText(), requestItem.getText(), pageRequest)).thenReturn(List.of(toItem(itemDto, toUser(userDto))));
+        when(itemSearchIndex.search(requestItem.getText(), true, 0, 10)).thenReturn(List.of(itemId));
+        when(itemRepository.findAllDtosByItemIds(List.of(itemId))).thenReturn(items);
 
         assertEquals(items, service.searchItem(requestItem));
     }
 
+    @Test
+    public void searchItemWhenFromIsNotMultipleOfSizeSearchFromPageStart() {
+        RequestItem requestItem = RequestItem.of(1L, 7, 5, "text");
+
+        when(itemSearchIndex.search(requestItem.getText(), true, 5, 5)).thenReturn(List.of());
+
+        assertEquals(List.of(), service.searchItem(requestItem));
+    }
+
     @Test
     public void searchItemWhenNotFoundItemsReturnEmptyList() {
         RequestItem requestItem = RequestItem.of(1L, 0, 10, "text");
-        PageRequest pageRequest = PageRequest.of(requestItem.getFrom(), requestItem.getSize());
         List<ItemDto> items = List.of();
 
-        when(itemRepository.findAllByAvailableAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(true,
-                requestItem.getText(), requestItem.getText(), pageRequest)).thenReturn(List.of());
+        when(itemSearchIndex.search(requestItem.getText(), true, 0, 10)).thenReturn(List.of());
 
         List<ItemDto> foundItems = service.searchItem(requestItem);
 
@@ -434,14 +525,12 @@ public class ItemServiceImplTest {
         CommentDto commentDto = new CommentDto(1L, userDto, userDto.getName(), userId, 1, "text",
                 LocalDateTime.now(), itemDto, itemId);
         Comment comment = toComment(commentDto, user, item);
-        Booking lastBooking = new Booking(1L, user, item, LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1), Status.APPROVED);
-        List<Booking> bookings = List.of(lastBooking);
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByUserUserIdAndEndTimeIsBeforeOrderByEndTimeDesc(anyLong(), any()))
-                .thenReturn(bookings);
+        when(bookingRepository.existsByUserUserIdAndItemItemIdAndStatusAndEndTimeBefore(eq(userId), eq(itemId),
+                eq(Status.APPROVED), any()))
+                .thenReturn(true);
         when(commentRepository.save(any())).thenReturn(comment);
 
         assertEquals(commentDto, service.addComment(commentDto, userId, itemId));
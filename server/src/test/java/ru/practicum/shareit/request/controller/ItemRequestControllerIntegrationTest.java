@@ -8,16 +8,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -192,6 +196,53 @@ public class ItemRequestControllerIntegrationTest {
                 .andExpect(jsonPath("$.items.length()", is(2)));
     }
 
+    @Test
+    @SneakyThrows
+    public void getItemRequestByIdWhenEtagMatchesReturnStatusNotModified() {
+        String etag = mvc.perform(get(URL + "/{requestId}", requestId)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get(URL + "/{requestId}", requestId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getItemRequestByIdWhenItemAddedToRequestReturnNewEtag() {
+        String etag = mvc.perform(get(URL + "/{requestId}", requestId)
+                        .header("X-Sharer-User-Id", userId))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        ItemDto item = ItemDto.builder()
+                .name("Бензопила")
+                .description("Бензопила Stihl")
+                .available(true)
+                .requestId(requestId)
+                .build();
+
+        mvc.perform(post("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(item))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mvc.perform(get(URL + "/{requestId}", requestId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.items.length()", is(3)));
+    }
+
     @Test
     @SneakyThrows
     public void getItemRequestByIdWhenRequestNotFoundReturnStatusIsNotFound() {
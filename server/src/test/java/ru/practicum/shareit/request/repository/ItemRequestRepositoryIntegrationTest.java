@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -29,22 +30,30 @@ public class ItemRequestRepositoryIntegrationTest {
     }
 
     @Test
-    public void getItemRequestsByUserWhenInvokedMethodReturnListItemRequests() {
-        assertEquals(3, itemRequestRepository.getItemRequestsByUserUserId(userId).size());
+    public void findAllDtosByUserIdWhenInvokedMethodReturnListItemRequests() {
+        assertEquals(3, itemRequestRepository.findAllDtosByUserId(userId).size());
     }
 
     @Test
-    public void getItemRequestsByUserWhenItemRequestsNotFoundReturnEmptyList() {
-        assertEquals(0, itemRequestRepository.getItemRequestsByUserUserId(userWithoutRequests).size());
+    public void findAllDtosByUserIdWhenItemRequestsNotFoundReturnEmptyList() {
+        assertEquals(0, itemRequestRepository.findAllDtosByUserId(userWithoutRequests).size());
     }
 
     @Test
-    public void findAllByUserUserIdNotLikeWhenInvokedMethodReturnEmptyList() {
-        assertEquals(0, itemRequestRepository.findAllByUserUserIdNotLike(userId, PageRequest.of(0,  10)).size());
+    public void findAllDtosByUserIdNotWhenInvokedMethodReturnEmptyList() {
+        assertEquals(0, itemRequestRepository.findAllDtosByUserIdNot(userId, PageRequest.of(0,  10)).size());
     }
 
     @Test
-    public void findAllByUserUserIdNotLikeWhenInvokedMethodReturnListWithThreeRequests() {
-        assertEquals(3, itemRequestRepository.findAllByUserUserIdNotLike(userWithoutRequests, PageRequest.of(0,  10)).size());
+    public void findAllDtosByUserIdNotWhenInvokedMethodReturnListWithThreeRequests() {
+        assertEquals(3, itemRequestRepository.findAllDtosByUserIdNot(userWithoutRequests, PageRequest.of(0,  10)).size());
+    }
+
+    @Test
+    public void findDtoByIdWhenInvokedMethodReturnRequestWithAuthor() {
+        ItemRequestDto request = itemRequestRepository.findDtoById(requestId).orElseThrow();
+
+        assertEquals("Отвертка", request.getDescription());
+        assertEquals(userId, request.getAuthorId());
     }
 }
\ No newline at end of file
@@ -10,10 +10,13 @@ import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.common.NotOwnerException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.request.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.request.model.GetItemRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -25,6 +28,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.request.dto.ItemRequestDtoMapper.toDto;
 
@@ -40,6 +44,9 @@ public class ItemRequestServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @InjectMocks
     private ItemRequestServiceImpl service;
 
@@ -49,6 +56,7 @@ public class ItemRequestServiceTest {
     private long ownerItemId;
     private User user;
     private Item item;
+    private ItemResponseDto response;
     private ItemRequest itemRequest;
     private User author;
 
@@ -80,6 +88,9 @@ public class ItemRequestServiceTest {
                 .requestId(1L)
                 .build();
 
+        response = new ItemResponseDto(item.getItemId(), item.getName(), item.getDescription(),
+                item.getRequestId(), item.getAvailable());
+
         itemRequest = ItemRequest.builder()
                 .itemRequestId(requestId)
                 .timeOfCreation(LocalDateTime.now())
@@ -90,7 +101,7 @@ public class ItemRequestServiceTest {
 
     @Test
     public void addItemRequestWhenInvokedMethodReturnRequest() {
-        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
+        when(userRepository.getReferenceById(authorId)).thenReturn(author);
         when(repository.save(itemRequest)).thenReturn(itemRequest);
 
         assertEquals(toDto(itemRequest), service.addItemRequest(toDto(itemRequest), authorId));
@@ -98,7 +109,7 @@ public class ItemRequestServiceTest {
 
     @Test
     public void addItemRequestWhenUserNotFoundThrowException() {
-        when(userRepository.findById(authorId)).thenThrow(UserNotFoundException.class);
+        doThrow(UserNotFoundException.class).when(userExistenceCache).checkExists(authorId);
 
         assertThrows(UserNotFoundException.class, () -> service.addItemRequest(toDto(itemRequest), authorId));
     }
@@ -107,16 +118,15 @@ public class ItemRequestServiceTest {
     public void getItemRequestsForUserWhenInvokedMethodReturnOneRequest() {
         List<ItemRequest> itemRequests = List.of(itemRequest);
 
-        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(repository.getItemRequestsByUserUserId(authorId)).thenReturn(itemRequests);
-        when(itemRepository.findAllByRequests(any())).thenReturn(List.of(item));
+        when(repository.findAllDtosByUserId(authorId)).thenReturn(toDto(itemRequests));
+        when(itemRepository.findAllResponsesByRequests(any())).thenReturn(List.of(response));
 
         assertEquals(toDto(itemRequests), service.getItemRequestsForUser(authorId));
     }
 
     @Test
     public void getItemRequestsForUserWhenUserNotFoundThrowException() {
-        when(userRepository.findById(authorId)).thenThrow(UserNotFoundException.class);
+        doThrow(UserNotFoundException.class).when(userExistenceCache).checkExists(authorId);
 
         assertThrows(UserNotFoundException.class, () -> service.getItemRequestsForUser(authorId));
     }
@@ -125,40 +135,36 @@ public class ItemRequestServiceTest {
     public void getItemRequestsForUserWhenRequestsNotFoundReturnEmptyList() {
         List<ItemRequest> itemRequests = List.of();
 
-        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(repository.getItemRequestsByUserUserId(authorId)).thenReturn(itemRequests);
-        when(itemRepository.findAllByRequests(any())).thenReturn(List.of(item));
+        when(repository.findAllDtosByUserId(authorId)).thenReturn(toDto(itemRequests));
+        when(itemRepository.findAllResponsesByRequests(any())).thenReturn(List.of(response));
 
         assertEquals(0, service.getItemRequestsForUser(authorId).size());
     }
 
     @Test
     public void getItemRequestByIdWhenInvokedMethodReturnBooking() {
-        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(repository.findById(requestId)).thenReturn(Optional.of(itemRequest));
-        when(itemRepository.findAllByRequestId(any())).thenReturn(List.of(item));
+        when(repository.findDtoById(requestId)).thenReturn(Optional.of(toDto(itemRequest)));
+        when(itemRepository.findAllResponsesByRequestId(any())).thenReturn(List.of(response));
 
         assertEquals(toDto(itemRequest), service.getItemRequestById(requestId, authorId));
     }
 
     @Test
     public void getItemRequestByIdWhenRequestNotFoundThrowException() {
-        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(repository.findById(requestId)).thenThrow(ItemRequestNotFoundException.class);
+        when(repository.findDtoById(requestId)).thenReturn(Optional.empty());
 
         assertThrows(ItemRequestNotFoundException.class, () -> service.getItemRequestById(requestId, authorId));
     }
 
     @Test
     public void getItemRequestByIdWhenUserNotFoundThrowException() {
-        when(userRepository.findById(authorId)).thenThrow(UserNotFoundException.class);
+        doThrow(UserNotFoundException.class).when(userExistenceCache).checkExists(authorId);
 
         assertThrows(UserNotFoundException.class, () -> service.getItemRequestById(requestId, authorId));
     }
 
     @Test
     public void deleteItemRequestWhenInvokedMethodReturnRequest() {
-        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
         when(repository.findById(requestId)).thenReturn(Optional.of(itemRequest));
 
         assertEquals(toDto(itemRequest), service.deleteItemRequest(requestId, authorId));
@@ -166,7 +172,6 @@ public class ItemRequestServiceTest {
 
     @Test
     public void deleteItemRequestWhenUserDoesntHaveAccessThrowException() {
-        when(userRepository.findById(ownerItemId)).thenReturn(Optional.of(user));
         when(repository.findById(requestId)).thenReturn(Optional.of(itemRequest));
 
         assertThrows(NotOwnerException.class, () -> service.deleteItemRequest(requestId, ownerItemId));
@@ -176,9 +181,8 @@ public class ItemRequestServiceTest {
     public void getItemRequestsWhenInvokedMethodReturnOneBooking() {
         List<ItemRequest> itemRequests = List.of(itemRequest);
 
-        when(userRepository.findById(ownerItemId)).thenReturn(Optional.of(user));
-        when(repository.findAllByUserUserIdNotLike(ownerItemId, PageRequest.of(0, 10))).thenReturn(itemRequests);
-        when(itemRepository.findAllByRequests(any())).thenReturn(List.of(item));
+        when(repository.findAllDtosByUserIdNot(ownerItemId, PageRequest.of(0, 10))).thenReturn(toDto(itemRequests));
+        when(itemRepository.findAllResponsesByRequests(any())).thenReturn(List.of(response));
 
         assertEquals(toDto(itemRequests), service.getItemRequests(GetItemRequest.of(ownerItemId, 0, 10)));
     }
@@ -187,10 +191,27 @@ public class ItemRequestServiceTest {
     public void getItemRequestsWhenInvokedMethodReturnEmptyList() {
         List<ItemRequest> itemRequests = List.of();
 
-        when(userRepository.findById(ownerItemId)).thenReturn(Optional.of(user));
-        when(repository.findAllByUserUserIdNotLike(ownerItemId, PageRequest.of(0, 10))).thenReturn(itemRequests);
-        when(itemRepository.findAllByRequests(any())).thenReturn(List.of(item));
+        when(repository.findAllDtosByUserIdNot(ownerItemId, PageRequest.of(0, 10))).thenReturn(toDto(itemRequests));
+        when(itemRepository.findAllResponsesByRequests(any())).thenReturn(List.of(response));
 
         assertEquals(toDto(itemRequests), service.getItemRequests(GetItemRequest.of(ownerItemId, 0, 10)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void addResponsesToRequestsWhenResponsesBelongToDifferentRequestsGroupByRequestId() {
+        ItemRequestDto first = toDto(itemRequest);
+        ItemRequestDto second = toDto(itemRequest);
+        second.setId(2L);
+        ItemRequestDto withoutResponses = toDto(itemRequest);
+        withoutResponses.setId(3L);
+        ItemResponseDto otherResponse = new ItemResponseDto(2L, "Дрель", "Простая дрель", 2L, true);
+        ItemResponseDto anotherResponse = new ItemResponseDto(3L, "Пила", "Острая пила", 1L, false);
+
+        service.addResponsesToRequests(List.of(first, second, withoutResponses),
+                List.of(response, otherResponse, anotherResponse));
+
+        assertEquals(List.of(response, anotherResponse), first.getItems());
+        assertEquals(List.of(otherResponse), second.getItems());
+        assertEquals(List.of(), withoutResponses.getItems());
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.user.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.event.UserEvent;
+import ru.practicum.shareit.user.exception.UserNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExistenceCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AtomicLong clock;
+    private UserExistenceCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong();
+        cache = new UserExistenceCache(userRepository, 8, Duration.ofMinutes(1), clock::get);
+    }
+
+    @Test
+    public void checkExistsWhenUserCachedDoNotQueryRepository() {
+        cache.put(1L);
+
+        cache.checkExists(1L);
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void checkExistsWhenUserNotCachedQueryRepositoryOnce() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        cache.checkExists(1L);
+        cache.checkExists(1L);
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    public void checkExistsWhenUserNotExistsThrowException() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> cache.checkExists(1L));
+        assertFalse(cache.contains(1L));
+    }
+
+    @Test
+    public void checkExistsWhenUserRemovedDuringLoadDoNotCacheUser() {
+        when(userRepository.existsById(1L)).thenAnswer(invocation -> {
+            cache.onUserEvent(UserEvent.removed(1L));
+            return true;
+        });
+
+        cache.checkExists(1L);
+
+        assertFalse(cache.contains(1L));
+    }
+
+    @Test
+    public void containsWhenTtlExpiredReturnFalse() {
+        cache.put(1L);
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertFalse(cache.contains(1L));
+    }
+
+    @Test
+    public void putWhenSlotTakenEvictPreviousUser() {
+        cache.put(1L);
+
+        for (long userId = 2L; userId < 100L; userId++) {
+            cache.put(userId);
+        }
+
+        assertFalse(cache.contains(1L));
+        assertTrue(cache.contains(99L));
+    }
+
+    @Test
+    public void onUserEventWhenUserCreatedPutUser() {
+        cache.onUserEvent(UserEvent.created(1L));
+
+        assertTrue(cache.contains(1L));
+    }
+
+    @Test
+    public void onUserEventWhenUserRemovedEvictUser() {
+        cache.put(1L);
+
+        cache.onUserEvent(UserEvent.removed(1L));
+
+        assertFalse(cache.contains(1L));
+    }
+}
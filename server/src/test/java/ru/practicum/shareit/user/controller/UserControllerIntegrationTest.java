@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,9 +16,14 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -61,6 +67,44 @@ public class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.name", is(userDto.getName())));
     }
 
+    @Test
+    @SneakyThrows
+    public void getUserByIdWhenEtagMatchesReturnStatusNotModified() {
+        String etag = mvc.perform(get(URL + "/{userId}", userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get(URL + "/{userId}", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUserByIdWhenUserUpdatedReturnNewEtag() {
+        String etag = mvc.perform(get(URL + "/{userId}", userId))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        UserDto newUser = UserDto.builder()
+                .name("Jon Snow")
+                .build();
+
+        mvc.perform(patch(URL + "/{userId}", userId)
+                        .content(mapper.writeValueAsString(newUser))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mvc.perform(get(URL + "/{userId}", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.name", is(newUser.getName())));
+    }
+
     @Test
     @SneakyThrows
     public void getUserByIdWhenUserNotFoundReturnStatusNotFound() {
@@ -78,6 +122,51 @@ public class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()", is(3)));
     }
 
+    @Test
+    @SneakyThrows
+    public void getUsersWhenFollowingCursorReturnRemainingUsers() {
+        String cursor = mvc.perform(get(URL)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[1].id", is(2)))
+                .andReturn()
+                .getResponse()
+                .getHeader(UserController.NEXT_CURSOR_HEADER);
+
+        mvc.perform(get(URL)
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(UserController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(3)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUsersWhenCursorNotValidReturnStatusIsBadRequest() {
+        mvc.perform(get(URL)
+                        .param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportUsersWhenInvokedReturnAllUsersAsNdjson() {
+        String content = mvc.perform(get(URL + "/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        List<UserDto> users = mapper.readerFor(UserDto.class).<UserDto>readValues(content).readAll();
+
+        assertEquals(3, users.size());
+        assertEquals(userDto, users.get(0));
+    }
+
     @Test
     @SneakyThrows
     public void addUserWhenMethodInvokedReturnUser() {
@@ -7,19 +7,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
+import ru.practicum.shareit.user.model.UserCursor;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -66,30 +73,109 @@ public class UserControllerTest {
         verify(userService).getUserById(userId);
     }
 
+    @Test
+    @SneakyThrows
+    public void getUserByIdWhenVersionMatchesReturnNotModifiedWithoutLoadingUser() {
+        when(userService.getUserVersion(userId)).thenReturn(3L);
+
+        mvc.perform(get("/users/{userId}", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(userService, never()).getUserById(userId);
+    }
+
     @Test
     @SneakyThrows
     public void getUsersWhenOneUserFoundReturnListWithOneUser() {
         List<UserDto> users = List.of(exceptedUser);
-        when(userService.getUsers()).thenReturn(users);
+        when(userService.getUsers(null, 100)).thenReturn(users);
 
         mvc.perform(get("/users"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(UserController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$.length()", is(1)));
 
-        verify(userService).getUsers();
+        verify(userService).getUsers(null, 100);
     }
 
     @Test
     @SneakyThrows
     public void getUsersWhenUsersNotFoundReturnEmptyList() {
         List<UserDto> users = List.of();
-        when(userService.getUsers()).thenReturn(users);
+        when(userService.getUsers(null, 100)).thenReturn(users);
 
         mvc.perform(get("/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()", is(0)));
 
-        verify(userService).getUsers();
+        verify(userService).getUsers(null, 100);
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUsersWhenPageIsFullReturnNextCursor() {
+        when(userService.getUsers(null, 1)).thenReturn(List.of(exceptedUser));
+
+        mvc.perform(get("/users")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserController.NEXT_CURSOR_HEADER, new UserCursor(userId).encode()));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUsersWhenSizeAtLimitRequestFullPage() {
+        when(userService.getUsers(null, UserController.MAX_PAGE_SIZE)).thenReturn(List.of());
+
+        mvc.perform(get("/users")
+                        .param("size", String.valueOf(UserController.MAX_PAGE_SIZE)))
+                .andExpect(status().isOk());
+
+        verify(userService).getUsers(null, UserController.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUsersWhenSizeExceedsLimitReturnBadRequest() {
+        mvc.perform(get("/users")
+                        .param("size", String.valueOf(UserController.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUsersWhenSizeNotPositiveReturnBadRequest() {
+        mvc.perform(get("/users")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportUsersWhenInvokedWriteOneLinePerUser() {
+        when(userService.exportUsers(any())).thenAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(exceptedUser);
+            consumer.accept(exceptedUser);
+
+            return 2L;
+        });
+
+        String content = mvc.perform(get("/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String line = mapper.writeValueAsString(exceptedUser);
+        assertEquals(line + "\n" + line + "\n", content);
     }
 
     @Test
@@ -4,10 +4,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @Sql(value = {"/set-up-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
@@ -23,4 +29,28 @@ public class UserRepositoryIntegrationTest {
 
         assertThrows(DataIntegrityViolationException.class, () -> userRepository.save(user));
     }
+
+    @Test
+    public void findDtoByIdWhenUserFoundReturnUser() {
+        assertEquals(new UserDto(1L, "Jon Bon", "mail@mail.ru"), userRepository.findDtoById(1L).orElseThrow());
+    }
+
+    @Test
+    public void findDtoByIdWhenUserNotFoundReturnEmpty() {
+        assertTrue(userRepository.findDtoById(100L).isEmpty());
+    }
+
+    @Test
+    public void findAllDtosAfterWhenInvokedMethodReturnUsersOrderedById() {
+        List<UserDto> users = userRepository.findAllDtosAfter(1L, PageRequest.of(0, 10));
+
+        assertEquals(2, users.size());
+        assertEquals(2L, users.get(0).getId());
+        assertEquals(3L, users.get(1).getId());
+    }
+
+    @Test
+    public void findAllDtosAfterWhenPageIsSmallerReturnFirstUsers() {
+        assertEquals(1, userRepository.findAllDtosAfter(0L, PageRequest.of(0, 1)).size());
+    }
 }
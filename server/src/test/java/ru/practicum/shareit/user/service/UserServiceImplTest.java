@@ -8,13 +8,19 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.common.NotValidCursorException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.UserCursor;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,6 +34,9 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl service;
 
@@ -45,7 +54,7 @@ public class UserServiceImplTest {
 
     @Test
     public void getUserByIdWhenUserFoundReturnUser() {
-        when(repository.findById(userId)).thenReturn(Optional.of(exceptedUser));
+        when(repository.findDtoById(userId)).thenReturn(Optional.of(toDto(exceptedUser)));
 
         UserDto foundUser = service.getUserById(userId);
 
@@ -55,7 +64,7 @@ public class UserServiceImplTest {
     @Test
     public void getUserByIdWhenUserNotFoundThrowException() {
         long userId = 0L;
-        when(repository.findById(userId)).thenReturn(Optional.empty());
+        when(repository.findDtoById(userId)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> service.getUserById(userId));
     }
@@ -63,9 +72,9 @@ public class UserServiceImplTest {
     @Test
     public void getUsersWhenOneUserFoundReturnListWithOneUser() {
         List<User> users = List.of(exceptedUser);
-        when(repository.findAll()).thenReturn(users);
+        when(repository.findAllDtosAfter(0L, PageRequest.of(0, 10))).thenReturn(toDto(users));
 
-        List<UserDto> foundUsers = service.getUsers();
+        List<UserDto> foundUsers = service.getUsers(null, 10);
 
         assertEquals(toDto(users), foundUsers);
         assertEquals(1, foundUsers.size());
@@ -74,14 +83,36 @@ public class UserServiceImplTest {
     @Test
     public void getUsersWhenUsersNotFoundReturnEmptyList() {
         List<User> users = List.of();
-        when(repository.findAll()).thenReturn(users);
+        when(repository.findAllDtosAfter(0L, PageRequest.of(0, 10))).thenReturn(toDto(users));
 
-        List<UserDto> foundUsers = service.getUsers();
+        List<UserDto> foundUsers = service.getUsers(null, 10);
 
-        assertEquals(toDto(users), service.getUsers());
+        assertEquals(toDto(users), foundUsers);
         assertEquals(0, foundUsers.size());
     }
 
+    @Test
+    public void getUsersWhenCursorPassedReturnUsersAfterCursor() {
+        String cursor = new UserCursor(userId).encode();
+        when(repository.findAllDtosAfter(userId, PageRequest.of(0, 10))).thenReturn(List.of());
+
+        assertEquals(0, service.getUsers(cursor, 10).size());
+    }
+
+    @Test
+    public void getUsersWhenCursorNotValidThrowException() {
+        assertThrows(NotValidCursorException.class, () -> service.getUsers("not a cursor", 10));
+    }
+
+    @Test
+    public void exportUsersWhenInvokedPassEveryUserToConsumer() {
+        List<UserDto> exported = new ArrayList<>();
+        when(repository.streamAllDtos()).thenReturn(Stream.of(toDto(exceptedUser)));
+
+        assertEquals(1, service.exportUsers(exported::add));
+        assertEquals(List.of(toDto(exceptedUser)), exported);
+    }
+
     @Test
     public void addUserWhenUserAddReturnUser() {
         when(repository.save(exceptedUser)).thenReturn(exceptedUser);
@@ -4,15 +4,20 @@ delete from bookings cascade;
 delete from items cascade;
 delete from users cascade;
 
+alter sequence items_seq restart with 100;
+alter sequence bookings_seq restart with 100;
+alter table comments alter column comment_id restart with 100;
+
 insert into users (user_id, name, email)
 values (1, 'Jon Bon', 'mail@mail.ru'),
        (2, 'Bon Jon', 'google@mail.com'),
        (3, 'Don Jon', 'boogle@mail.com');
 
-insert into items (item_id, name, user_id, description, available, request_id)
-values (1, 'Отвертка', 1, 'Простая отвертка', 'true', 1),
-       (2, 'Топор', 1, 'Простой топор', 'true', 1),
-       (3, 'Пила', 1, 'Бензопила', 'false', 2);
+insert into items (item_id, name, user_id, description, available, request_id,
+                   booking_count, approved_booking_count, comment_count, rating_sum, rating_count)
+values (1, 'Отвертка', 1, 'Простая отвертка', 'true', 1, 4, 3, 1, 1, 1),
+       (2, 'Топор', 1, 'Простой топор', 'true', 1, 0, 0, 0, 0, 0),
+       (3, 'Пила', 1, 'Бензопила', 'false', 2, 0, 0, 0, 0, 0);
 
 insert into bookings (booking_id, user_id, item_id, start_time, end_time, status)
 values (1, 2, 1, '2023-07-08 20:20:20', '2023-07-08 21:20:20', 0),
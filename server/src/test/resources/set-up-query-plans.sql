@@ -0,0 +1,23 @@
+insert into users (user_id, name, email)
+select x, 'User ' || x, 'user' || x || '@mail.com'
+from system_range(1000, 1199);
+
+insert into item_requests (item_request_id, description, user_id, time_of_creation)
+select x, 'Request ' || x, 1000 + mod(x, 200), dateadd('MINUTE', x, timestamp '2023-01-01 00:00:00')
+from system_range(1000, 1499);
+
+insert into items (item_id, name, user_id, description, available, request_id)
+select x, 'Item ' || x, 1000 + mod(x, 200), 'Description ' || x, true, 1000 + mod(x, 500)
+from system_range(1000, 1999);
+
+insert into comments (comment_id, user_id, item_id, text, time_of_creation)
+select x, 1000 + mod(x, 200), 1000 + mod(x, 1000), 'Comment ' || x, timestamp '2023-01-01 00:00:00'
+from system_range(1000, 1499);
+
+insert into bookings (booking_id, user_id, item_id, start_time, end_time, status)
+select x, 1000 + mod(x, 200), 1000 + mod(x, 1000),
+       dateadd('HOUR', x, timestamp '2023-01-01 00:00:00'),
+       dateadd('HOUR', x + 1, timestamp '2023-01-01 00:00:00'), 0
+from system_range(1000, 5999);
+
+analyze;